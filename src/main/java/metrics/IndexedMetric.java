@@ -0,0 +1,24 @@
+package metrics;
+
+/** One row of a MetricsTable: a record with the time, memory delta and efficiency index shown for it. */
+public final class IndexedMetric {
+    private final MetricRecord record;
+    private final double time;
+    private final double memoryDelta;
+    private final double index;
+
+    IndexedMetric(MetricRecord record, double time, double memoryDelta, double index) {
+        this.record = record;
+        this.time = time;
+        this.memoryDelta = memoryDelta;
+        this.index = index;
+    }
+
+    public MetricRecord getRecord()  { return record; }
+    public String getToolName()      { return record.getToolName(); }
+    public boolean isRollback()      { return record.isRollback(); }
+    /** Rollback time for rollbacks, total pipeline time otherwise. */
+    public double getTime()          { return time; }
+    public double getMemoryDelta()   { return memoryDelta; }
+    public double getIndex()         { return index; }
+}
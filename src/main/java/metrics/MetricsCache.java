@@ -0,0 +1,229 @@
+package metrics;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import model.AppConfig;
+
+/**
+ * Parsed MetricRecords kept in a small binary file, keyed by each log's path
+ * (relative to the logs directory), size and modification time. refresh()
+ * only parses logs that are new or whose size or mtime changed, so startup
+ * and exports cost a directory listing plus the logs that actually changed,
+ * not the whole log history; update() goes further and only looks at the
+ * logs it is given. The file is rewritten atomically after a refresh
+ * that changed anything; a missing, corrupt or older-format file is ignored
+ * and rebuilt.
+ */
+public class MetricsCache {
+    private static final MetricsCache DEFAULT = new MetricsCache(Paths.get(AppConfig.get("metrics.cacheFile",
+            System.getProperty("user.home") + "/jobmanagement/metrics-cache.bin")));
+    private static final int MAGIC = 0x4A4D4D43; // "JMMC"
+    private static final int VERSION = 1;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private final Path file;
+    private Map<String, Entry> entries;
+
+    public MetricsCache(Path file) {
+        this.file = file;
+    }
+
+    public static MetricsCache getDefault() {
+        return DEFAULT;
+    }
+
+    /** Brings the cache up to date with logsDir and returns every record in tool / run order. */
+    public synchronized ParseResult refresh(Path logsDir) throws IOException {
+        ensureLoaded();
+        List<Path> logs = MetricsParser.listLogs(logsDir);
+        Set<String> present = new HashSet<>();
+        for (Path log : logs) {
+            present.add(keyOf(logsDir, log));
+        }
+        boolean dirty = entries.keySet().retainAll(present);
+        return apply(logsDir, logs, dirty);
+    }
+
+    /**
+     * Like refresh, but only looks at the given logs (new, modified or
+     * deleted); the rest of the cache is taken as current. For callers that
+     * know what changed, such as MetricsIngester.
+     */
+    public synchronized ParseResult update(Path logsDir, Collection<Path> logs) throws IOException {
+        ensureLoaded();
+        List<Path> existing = new ArrayList<>();
+        boolean dirty = false;
+        for (Path log : logs) {
+            if (Files.isRegularFile(log)) {
+                existing.add(log);
+            } else {
+                dirty |= entries.remove(keyOf(logsDir, log)) != null;
+            }
+        }
+        existing.sort(MetricsParser.LOG_ORDER);
+        return apply(logsDir, existing, dirty);
+    }
+
+    private void ensureLoaded() {
+        if (entries == null) {
+            entries = load();
+        }
+    }
+
+    // Re-parses those of logs (in LOG_ORDER) whose size or mtime changed, saves if anything did, returns all records
+    private ParseResult apply(Path logsDir, List<Path> logs, boolean dirty) throws IOException {
+        List<Path> changed = new ArrayList<>();
+        Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+        for (Path log : logs) {
+            String key = keyOf(logsDir, log);
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(log, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                dirty |= entries.remove(key) != null; // deleted since the listing
+                continue;
+            }
+            Entry entry = entries.get(key);
+            if (entry == null || entry.size != attrs.size() || entry.mtime != attrs.lastModifiedTime().toMillis()) {
+                changed.add(log);
+                attributes.put(log, attrs);
+            }
+        }
+
+        List<ParseResult.Failure> failures = new ArrayList<>();
+        if (!changed.isEmpty()) {
+            ParseResult parsed = MetricsParser.parseFiles(changed, PARALLELISM);
+            failures.addAll(parsed.getFailures());
+            Set<Path> failed = new HashSet<>();
+            for (ParseResult.Failure failure : parsed.getFailures()) {
+                failed.add(failure.getFile());
+                entries.remove(keyOf(logsDir, failure.getFile()));
+            }
+            // parseFiles returns records in LOG_ORDER, the order `changed` is already in
+            int next = 0;
+            for (Path log : changed) {
+                if (failed.contains(log)) {
+                    continue;
+                }
+                BasicFileAttributes attrs = attributes.get(log);
+                String key = keyOf(logsDir, log);
+                entries.put(key, new Entry(Paths.get(key), attrs.size(),
+                        attrs.lastModifiedTime().toMillis(), parsed.getRecords().get(next++)));
+            }
+            dirty = true;
+        }
+        if (dirty) {
+            save();
+        }
+
+        List<Entry> ordered = new ArrayList<>(entries.values());
+        ordered.sort((a, b) -> MetricsParser.LOG_ORDER.compare(a.path, b.path));
+        List<MetricRecord> records = new ArrayList<>(ordered.size());
+        for (Entry entry : ordered) {
+            records.add(entry.record);
+        }
+        return new ParseResult(records, failures);
+    }
+
+    private static String keyOf(Path logsDir, Path log) {
+        return logsDir.relativize(log).toString().replace('\\', '/');
+    }
+
+    private Map<String, Entry> load() {
+        Map<String, Entry> loaded = new HashMap<>();
+        if (!Files.isRegularFile(file)) {
+            return loaded;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return loaded;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                long size = in.readLong();
+                long mtime = in.readLong();
+                MetricRecord rec = new MetricRecord(in.readUTF());
+                rec.setTotalPipelineTime(in.readDouble());
+                rec.setDeploymentTime(in.readDouble());
+                rec.setLeadTime(in.readDouble());
+                rec.setRollbackTime(in.readDouble());
+                rec.setMemoryBeforeUsed(in.readDouble());
+                rec.setMemoryAfterUsed(in.readDouble());
+                rec.setCost(in.readDouble());
+                loaded.put(key, new Entry(Paths.get(key), size, mtime, rec));
+            }
+            return loaded;
+        } catch (IOException e) {
+            System.err.println("[MetricsCache] Ignoring unreadable cache " + file + ": " + e.getMessage());
+            return new HashMap<>();
+        }
+    }
+
+    private void save() {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    Entry entry = e.getValue();
+                    MetricRecord rec = entry.record;
+                    out.writeUTF(e.getKey());
+                    out.writeLong(entry.size);
+                    out.writeLong(entry.mtime);
+                    out.writeUTF(rec.getToolName());
+                    out.writeDouble(rec.getTotalPipelineTime());
+                    out.writeDouble(rec.getDeploymentTime());
+                    out.writeDouble(rec.getLeadTime());
+                    out.writeDouble(rec.getRollbackTime());
+                    out.writeDouble(rec.getMemoryBeforeUsed());
+                    out.writeDouble(rec.getMemoryAfterUsed());
+                    out.writeDouble(rec.getCost());
+                }
+            }
+            try {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // The in-memory entries are still good; the next refresh tries again
+            System.err.println("[MetricsCache] Could not write " + file + ": " + e.getMessage());
+        }
+    }
+
+    // path is the key as a Path, for sorting with LOG_ORDER
+    private static final class Entry {
+        final Path path;
+        final long size;
+        final long mtime;
+        final MetricRecord record;
+
+        Entry(Path path, long size, long mtime, MetricRecord record) {
+            this.path = path;
+            this.size = size;
+            this.mtime = mtime;
+            this.record = record;
+        }
+    }
+}
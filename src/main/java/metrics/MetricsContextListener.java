@@ -0,0 +1,45 @@
+package metrics;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/** Starts the MetricsIngester for /logs, and the MetricsService over it, on deploy; stops the ingester on undeploy. */
+public class MetricsContextListener implements ServletContextListener {
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        ServletContext context = sce.getServletContext();
+        String realPath = context.getRealPath("/logs");
+        if (realPath == null) {
+            System.err.println("[MetricsContextListener] /logs is not on disk (unpacked WAR needed); metrics are off");
+            return;
+        }
+        Path logsDir = Paths.get(realPath);
+        MetricsIngester ingester = new MetricsIngester(logsDir, MetricsCache.getDefault());
+        try {
+            ingester.start();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load metrics from " + logsDir, e);
+        }
+        context.setAttribute(MetricsIngester.ATTRIBUTE, ingester);
+        context.setAttribute(MetricsService.ATTRIBUTE, new MetricsService(ingester));
+        System.out.println("[MetricsContextListener] Watching " + logsDir + " ("
+                + ingester.snapshot().getRecords().size() + " record(s))");
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        Object ingester = sce.getServletContext().getAttribute(MetricsIngester.ATTRIBUTE);
+        if (ingester instanceof MetricsIngester) {
+            try {
+                ((MetricsIngester) ingester).close();
+            } catch (IOException e) {
+                System.err.println("[MetricsContextListener] Could not stop the ingester: " + e.getMessage());
+            }
+        }
+    }
+}
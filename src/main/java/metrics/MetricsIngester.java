@@ -0,0 +1,158 @@
+package metrics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import model.AppConfig;
+
+/**
+ * Watches the logs directory (recursively) and keeps a MetricsSnapshot
+ * current. Events are collected until the directory has been quiet for
+ * metrics.ingest.debounceMs (at most metrics.ingest.maxDelayMs), then only
+ * the logs they name are re-parsed through MetricsCache and a new snapshot is
+ * published. A new subdirectory, or an overflowed event queue, falls back to a
+ * full MetricsCache refresh, which still parses only what changed.
+ *
+ * Requests read snapshot() (through MetricsService), a volatile read, and
+ * never touch the disk.
+ */
+public class MetricsIngester implements Closeable {
+    /** Servlet context attribute holding the running ingester; see MetricsContextListener. */
+    public static final String ATTRIBUTE = MetricsIngester.class.getName();
+
+    private static final long DEBOUNCE_MS = AppConfig.getLong("metrics.ingest.debounceMs", 250);
+    private static final long MAX_DELAY_MS = AppConfig.getLong("metrics.ingest.maxDelayMs", 2000);
+
+    private final Path logsDir;
+    private final MetricsCache cache;
+    // Only touched by start() and then the ingester thread
+    private final Map<WatchKey, Path> watched = new HashMap<>();
+    private volatile MetricsSnapshot snapshot = MetricsSnapshot.EMPTY;
+    private WatchService watcher;
+    private Thread thread;
+
+    public MetricsIngester(Path logsDir, MetricsCache cache) {
+        this.logsDir = logsDir.toAbsolutePath().normalize();
+        this.cache = cache;
+    }
+
+    /** Loads the first snapshot, then watches for changes on a daemon thread. */
+    public synchronized void start() throws IOException {
+        watcher = FileSystems.getDefault().newWatchService();
+        // Register before the first scan so a log written in between is not missed
+        registerAll(logsDir);
+        publish(cache.refresh(logsDir));
+        thread = new Thread(this::run, "metrics-ingester");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public MetricsSnapshot snapshot() {
+        return snapshot;
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                Set<Path> changed = new LinkedHashSet<>();
+                boolean rescan = false;
+                long deadline = System.currentTimeMillis() + MAX_DELAY_MS;
+                // A log being written fires a burst of events; parse it once the burst settles
+                do {
+                    rescan |= drain(key, changed);
+                    long wait = Math.min(DEBOUNCE_MS, deadline - System.currentTimeMillis());
+                    key = wait > 0 ? watcher.poll(wait, TimeUnit.MILLISECONDS) : null;
+                } while (key != null);
+
+                try {
+                    if (rescan) {
+                        publish(cache.refresh(logsDir));
+                    } else if (!changed.isEmpty()) {
+                        publish(cache.update(logsDir, changed));
+                    }
+                } catch (IOException e) {
+                    // Keep serving the last snapshot; the next change tries again
+                    System.err.println("[MetricsIngester] Could not ingest logs: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // close() was called; let the thread end
+        }
+    }
+
+    // Adds the .log files the key's events name to changed; true when a full rescan is needed
+    private boolean drain(WatchKey key, Set<Path> changed) {
+        Path dir = watched.get(key);
+        boolean rescan = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW || dir == null) {
+                rescan = true;
+                continue;
+            }
+            Path child = dir.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(child)) {
+                // Logs may land in it before it is registered
+                try {
+                    registerAll(child);
+                } catch (IOException e) {
+                    System.err.println("[MetricsIngester] Could not watch " + child + ": " + e.getMessage());
+                }
+                rescan = true;
+            } else if (child.getFileName().toString().endsWith(".log")) {
+                changed.add(child);
+            }
+        }
+        if (!key.reset()) {
+            // The directory is gone; drop whatever was parsed from it
+            watched.remove(key);
+            rescan = true;
+        }
+        return rescan;
+    }
+
+    private void registerAll(Path root) throws IOException {
+        List<Path> dirs;
+        try (Stream<Path> paths = Files.walk(root)) {
+            dirs = paths.filter(Files::isDirectory).collect(Collectors.toList());
+        }
+        for (Path dir : dirs) {
+            WatchKey key = dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            watched.put(key, dir);
+        }
+    }
+
+    private void publish(ParseResult result) {
+        for (ParseResult.Failure failure : result.getFailures()) {
+            System.err.println("[MetricsIngester] Skipped " + failure);
+        }
+        snapshot = new MetricsSnapshot(snapshot.getVersion() + 1, result.getRecords());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        if (watcher != null) {
+            watcher.close(); // wakes the thread out of take()
+        }
+    }
+}
@@ -127,16 +127,27 @@
 package metrics;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class MetricsParser {
-    // Regex patterns
+    // Regex patterns, each applied to single lines
     private static final Pattern KV_SEC = Pattern.compile(
         "\\|\\s*([^|\\(]+?)\\s*(?:\\(sec\\))?\\s*\\|\\s*(\\d+\\.?\\d*)\\s*\\|",
         Pattern.CASE_INSENSITIVE
@@ -146,88 +157,259 @@ public class MetricsParser {
     private static final Pattern MEM_USED = Pattern.compile(
         "(Mem:\\s+\\S+\\s+(\\d+\\.?\\d*)(Gi|Mi))" +
         "|(used memory\\s+:\\s+(\\d+\\.?\\d*)\\s+MB)",
-        Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+        Pattern.CASE_INSENSITIVE
     );
     private static final Pattern COST_PATTERN = Pattern.compile(
         "\\|\\s*Cost \\(USD\\)\\s*\\|\\s*(\\d+\\.?\\d*)\\s*\\|"
     );
+    // Longest line kept; the rest of an over-long line (a progress bar redrawn without newlines) is skipped
+    private static final int MAX_LINE_CHARS = 64 * 1024;
+    private static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    // Tool name, then run number, then path for anything left tied
+    static final Comparator<Path> LOG_ORDER = Comparator
+            .comparing((Path p) -> extractToolName(p.getFileName().toString()))
+            .thenComparingInt(MetricsParser::runNumber)
+            .thenComparing(Path::toString);
 
     public static List<MetricRecord> parseAllLogs(Path logsDir) throws IOException {
-        List<MetricRecord> records = new ArrayList<>();
-        // Recursively scan all .log files in logsDir and subdirectories
+        ParseResult result = parseAll(logsDir, DEFAULT_PARALLELISM);
+        for (ParseResult.Failure failure : result.getFailures()) {
+            System.err.println("[MetricsParser] Could not parse " + failure);
+        }
+        return new ArrayList<>(result.getRecords());
+    }
+
+    /**
+     * Parses every .log file under logsDir (recursively) on up to parallelism
+     * threads. Records come back sorted by tool and run number whatever order
+     * the files finish in; files that fail are reported, not dropped silently.
+     */
+    public static ParseResult parseAll(Path logsDir, int parallelism) throws IOException {
+        return parseFiles(listLogs(logsDir), parallelism);
+    }
+
+    /** All .log files under logsDir, in LOG_ORDER. */
+    static List<Path> listLogs(Path logsDir) throws IOException {
         try (Stream<Path> paths = Files.walk(logsDir)) {
-            paths.filter(p -> p.toString().toLowerCase().endsWith(".log"))
-                 .forEach(p -> {
-                     try {
-                         records.add(parseLog(p));
-                     } catch (IOException e) {
-                         e.printStackTrace();
-                     }
-                 });
-        }
-        return records;
+            return paths.filter(p -> p.toString().toLowerCase().endsWith(".log") && Files.isRegularFile(p))
+                        .sorted(LOG_ORDER)
+                        .collect(Collectors.toList());
+        }
+    }
+
+    static ParseResult parseFiles(List<Path> files, int parallelism) throws IOException {
+        List<Path> sorted = new ArrayList<>(files);
+        sorted.sort(LOG_ORDER);
+        int n = sorted.size();
+        // One slot per file, each written by exactly one task; invokeAll publishes them to this thread
+        MetricRecord[] records = new MetricRecord[n];
+        Exception[] errors = new Exception[n];
+        List<Callable<Void>> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int slot = i;
+            tasks.add(() -> {
+                try {
+                    records[slot] = parseLog(sorted.get(slot));
+                } catch (Exception e) {
+                    errors[slot] = e;
+                }
+                return null;
+            });
+        }
+
+        int threads = Math.max(1, Math.min(parallelism, n));
+        if (threads == 1) {
+            for (Callable<Void> task : tasks) {
+                try {
+                    task.call();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e); // tasks catch their own failures
+                }
+            }
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "metrics-parser-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            try {
+                pool.invokeAll(tasks);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while parsing logs");
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        List<MetricRecord> parsed = new ArrayList<>(n);
+        List<ParseResult.Failure> failures = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (records[i] != null) {
+                parsed.add(records[i]);
+            } else {
+                failures.add(new ParseResult.Failure(sorted.get(i), errors[i]));
+            }
+        }
+        return new ParseResult(parsed, failures);
+    }
+
+    // The run number in a log's file name (the digits before .log), or -1
+    static int runNumber(Path logFile) {
+        String name = logFile.getFileName().toString();
+        int end = name.length() - ".log".length();
+        int start = end;
+        while (start > 0 && Character.isDigit(name.charAt(start - 1))) {
+            start--;
+        }
+        if (start == end || end - start > 9) {
+            return -1;
+        }
+        return Integer.parseInt(name.substring(start, end));
     }
 
+    /**
+     * Parses one log in a single streaming pass: lines are fed to a LineScanner
+     * as they are read, so heap use is bounded by MAX_LINE_CHARS however large
+     * the log. Undecodable bytes are replaced rather than failing the file.
+     */
     public static MetricRecord parseLog(Path logFile) throws IOException {
-        String content = Files.readString(logFile);
         String fileName = logFile.getFileName().toString();
         MetricRecord rec = new MetricRecord(extractToolName(fileName));
+        LineScanner scanner = new LineScanner(rec);
 
-        parseTimeMetrics(content, rec);
-        parseRollbackTime(content, rec);
-        parseCost(content, rec);
-        parseMemory(content, rec);
-
+        try (Reader in = new InputStreamReader(Files.newInputStream(logFile), StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE))) {
+            char[] buf = new char[8192];
+            StringBuilder line = new StringBuilder(256);
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                for (int i = 0; i < n; i++) {
+                    char c = buf[i];
+                    if (c == '\n' || c == '\r') {
+                        if (line.length() > 0) {
+                            scanner.accept(line);
+                            line.setLength(0);
+                        }
+                    } else if (line.length() < MAX_LINE_CHARS) {
+                        line.append(c);
+                    }
+                }
+            }
+            if (line.length() > 0) {
+                scanner.accept(line);
+            }
+        }
+        scanner.finish();
         return rec;
     }
 
-    private static void parseTimeMetrics(String content, MetricRecord rec) {
-        Matcher kv = KV_SEC.matcher(content);
-        while (kv.find()) {
-            String key = kv.group(1).trim().toLowerCase();
-            double val = Double.parseDouble(kv.group(2));
-            switch (key) {
-                case "total pipeline time": rec.setTotalPipelineTime(val); break;
-                case "deployment time":
-                case "deployment duration": rec.setDeploymentTime(val); break;
-                case "lead time for changes": rec.setLeadTime(val); break;
-                case "rollback time":
-                case "rollback deployment time": rec.setRollbackTime(val); break;
+    /**
+     * Recognizes every metric line of one log. Cheap character checks decide
+     * which of the patterns a line can match, so most lines (the bulk of a CI
+     * log) never reach a regex. Results match the former whole-file scans:
+     * table values apply in order with the last one winning, the Jenkins
+     * rollback sentence overrides the table's rollback time, and only the first
+     * cost and the first two memory readings count.
+     */
+    private static final class LineScanner {
+        private final MetricRecord rec;
+        private final Matcher kv = KV_SEC.matcher("");
+        private final Matcher cost = COST_PATTERN.matcher("");
+        private final Matcher sentence = JENKINS_ROLLBACK_SENTENCE.matcher("");
+        private final Matcher mem = MEM_USED.matcher("");
+        private boolean costFound;
+        private Double sentenceRollback;
+        private final double[] memory = new double[2];
+        private int memoryCount;
+
+        LineScanner(MetricRecord rec) {
+            this.rec = rec;
+        }
+
+        void accept(CharSequence line) {
+            if (indexOf(line, '|') >= 0) {
+                parseTable(line);
+            }
+            if (sentenceRollback == null && containsIgnoreCase(line, "rollback completed")) {
+                sentence.reset(line);
+                if (sentence.find()) {
+                    sentenceRollback = Double.parseDouble(sentence.group(1));
+                }
+            }
+            if (!rec.isRollback() && memoryCount < 2
+                    && (containsIgnoreCase(line, "mem:") || containsIgnoreCase(line, "used memory"))) {
+                parseMemory(line);
             }
         }
-    }
 
-    private static void parseRollbackTime(String content, MetricRecord rec) {
-        Matcher jr = JENKINS_ROLLBACK_SENTENCE.matcher(content);
-        if (jr.find()) {
-            rec.setRollbackTime(Double.parseDouble(jr.group(1)));
+        void finish() {
+            if (sentenceRollback != null) {
+                rec.setRollbackTime(sentenceRollback);
+            }
+            if (memoryCount == 2) {
+                rec.setMemoryBeforeUsed(memory[0]);
+                rec.setMemoryAfterUsed(memory[1]);
+            }
         }
-    }
 
-    private static void parseCost(String content, MetricRecord rec) {
-        Matcher costM = COST_PATTERN.matcher(content);
-        if (costM.find()) {
-            rec.setCost(Double.parseDouble(costM.group(1)));
+        private void parseTable(CharSequence line) {
+            kv.reset(line);
+            while (kv.find()) {
+                String key = kv.group(1).trim().toLowerCase();
+                double val = Double.parseDouble(kv.group(2));
+                switch (key) {
+                    case "total pipeline time": rec.setTotalPipelineTime(val); break;
+                    case "deployment time":
+                    case "deployment duration": rec.setDeploymentTime(val); break;
+                    case "lead time for changes": rec.setLeadTime(val); break;
+                    case "rollback time":
+                    case "rollback deployment time": rec.setRollbackTime(val); break;
+                }
+            }
+            if (!costFound) {
+                cost.reset(line);
+                if (cost.find()) {
+                    rec.setCost(Double.parseDouble(cost.group(1)));
+                    costFound = true;
+                }
+            }
         }
-    }
 
-    private static void parseMemory(String content, MetricRecord rec) {
-        if (rec.isRollback()) return;
-
-        List<Double> mem = new ArrayList<>();
-        Matcher mm = MEM_USED.matcher(content);
-        while (mm.find()) {
-            if (mm.group(2) != null) {
-                double value = Double.parseDouble(mm.group(2));
-                String unit = mm.group(3);
-                mem.add(unit.equalsIgnoreCase("Gi") ? value * 1024 : value);
-            } else if (mm.group(5) != null) {
-                mem.add(Double.parseDouble(mm.group(5)));
+        private void parseMemory(CharSequence line) {
+            mem.reset(line);
+            while (memoryCount < 2 && mem.find()) {
+                if (mem.group(2) != null) {
+                    double value = Double.parseDouble(mem.group(2));
+                    String unit = mem.group(3);
+                    memory[memoryCount++] = unit.equalsIgnoreCase("Gi") ? value * 1024 : value;
+                } else if (mem.group(5) != null) {
+                    memory[memoryCount++] = Double.parseDouble(mem.group(5));
+                }
             }
         }
-        if (mem.size() >= 2) {
-            rec.setMemoryBeforeUsed(mem.get(0));
-            rec.setMemoryAfterUsed(mem.get(1));
+
+        private static int indexOf(CharSequence s, char c) {
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) == c) return i;
+            }
+            return -1;
+        }
+
+        // needle must be lower case
+        private static boolean containsIgnoreCase(CharSequence s, String needle) {
+            int last = s.length() - needle.length();
+            for (int i = 0; i <= last; i++) {
+                int j = 0;
+                while (j < needle.length() && Character.toLowerCase(s.charAt(i + j)) == needle.charAt(j)) {
+                    j++;
+                }
+                if (j == needle.length()) return true;
+            }
+            return false;
         }
     }
 
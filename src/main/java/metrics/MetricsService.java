@@ -0,0 +1,46 @@
+package metrics;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+
+/**
+ * What the metrics servlets read: the MetricsTable for the ingester's current
+ * snapshot. The table is built on the first request after each new snapshot
+ * and shared by every request until the next one, so a request does no
+ * parsing or index computation of its own.
+ */
+public class MetricsService {
+    /** Servlet context attribute holding the service; set by MetricsContextListener. */
+    public static final String ATTRIBUTE = MetricsService.class.getName();
+
+    private final MetricsIngester ingester;
+    private volatile MetricsTable table;
+
+    public MetricsService(MetricsIngester ingester) {
+        this.ingester = ingester;
+    }
+
+    public static MetricsService get(ServletContext context) throws ServletException {
+        Object service = context.getAttribute(ATTRIBUTE);
+        if (!(service instanceof MetricsService)) {
+            throw new ServletException("Metrics are not loaded; see the MetricsContextListener log");
+        }
+        return (MetricsService) service;
+    }
+
+    public MetricsTable getTable() {
+        MetricsSnapshot snapshot = ingester.snapshot();
+        MetricsTable t = table;
+        if (t == null || t.getVersion() != snapshot.getVersion()) {
+            synchronized (this) {
+                t = table;
+                // Another request may have built it, or an even newer one, meanwhile
+                if (t == null || t.getVersion() < snapshot.getVersion()) {
+                    t = MetricsTable.of(snapshot);
+                    table = t;
+                }
+            }
+        }
+        return t;
+    }
+}
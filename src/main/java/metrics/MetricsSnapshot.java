@@ -0,0 +1,28 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The metric records as of one ingest, in tool / run order. Never changes once
+ * published; MetricsIngester swaps in a new snapshot when the logs change.
+ */
+public final class MetricsSnapshot {
+    static final MetricsSnapshot EMPTY = new MetricsSnapshot(0, Collections.emptyList());
+
+    private final long version;
+    private final long createdAt;
+    private final List<MetricRecord> records;
+
+    MetricsSnapshot(long version, List<MetricRecord> records) {
+        this.version = version;
+        this.createdAt = System.currentTimeMillis();
+        this.records = Collections.unmodifiableList(new ArrayList<>(records));
+    }
+
+    /** Goes up by one with every publish. */
+    public long getVersion()              { return version; }
+    public long getCreatedAt()            { return createdAt; }
+    public List<MetricRecord> getRecords() { return records; }
+}
@@ -0,0 +1,72 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+
+/**
+ * Efficiency indices for every record of one MetricsSnapshot: deployments are
+ * scored on time and memory against the other deployments, rollbacks on time
+ * against the other rollbacks. Immutable; built once per snapshot by
+ * MetricsService.
+ */
+public final class MetricsTable {
+    private final long version;
+    private final List<IndexedMetric> deployments;
+    private final List<IndexedMetric> rollbacks;
+    private final List<IndexedMetric> rows;
+
+    private MetricsTable(long version, List<IndexedMetric> deployments, List<IndexedMetric> rollbacks) {
+        this.version = version;
+        this.deployments = Collections.unmodifiableList(deployments);
+        this.rollbacks = Collections.unmodifiableList(rollbacks);
+        List<IndexedMetric> all = new ArrayList<>(deployments.size() + rollbacks.size());
+        all.addAll(deployments);
+        all.addAll(rollbacks);
+        this.rows = Collections.unmodifiableList(all);
+    }
+
+    static MetricsTable of(MetricsSnapshot snapshot) {
+        DoubleSummaryStatistics deployTime = new DoubleSummaryStatistics();
+        DoubleSummaryStatistics deployMem = new DoubleSummaryStatistics();
+        DoubleSummaryStatistics rollbackTime = new DoubleSummaryStatistics();
+        for (MetricRecord rec : snapshot.getRecords()) {
+            if (rec.isRollback()) {
+                rollbackTime.accept(rec.getRollbackTime());
+            } else {
+                deployTime.accept(rec.getTotalPipelineTime());
+                deployMem.accept(memoryDelta(rec));
+            }
+        }
+
+        List<IndexedMetric> deployments = new ArrayList<>((int) deployTime.getCount());
+        List<IndexedMetric> rollbacks = new ArrayList<>((int) rollbackTime.getCount());
+        for (MetricRecord rec : snapshot.getRecords()) {
+            double memDelta = memoryDelta(rec);
+            if (rec.isRollback()) {
+                double index = EfficiencyIndexCalculator.computeRollbackIndex(
+                        rec.getRollbackTime(), rollbackTime.getMin(), rollbackTime.getMax());
+                rollbacks.add(new IndexedMetric(rec, rec.getRollbackTime(), memDelta, index));
+            } else {
+                double index = EfficiencyIndexCalculator.computeDeploymentIndex(
+                        rec.getTotalPipelineTime(), memDelta,
+                        deployTime.getMin(), deployTime.getMax(),
+                        deployMem.getMin(), deployMem.getMax());
+                deployments.add(new IndexedMetric(rec, rec.getTotalPipelineTime(), memDelta, index));
+            }
+        }
+        return new MetricsTable(snapshot.getVersion(), deployments, rollbacks);
+    }
+
+    private static double memoryDelta(MetricRecord rec) {
+        return rec.getMemoryAfterUsed() - rec.getMemoryBeforeUsed();
+    }
+
+    /** The MetricsSnapshot version this table was built from. */
+    public long getVersion()                   { return version; }
+    public List<IndexedMetric> getDeployments() { return deployments; }
+    public List<IndexedMetric> getRollbacks()   { return rollbacks; }
+    /** Deployments, then rollbacks, each in tool / run order. */
+    public List<IndexedMetric> getRows()        { return rows; }
+}
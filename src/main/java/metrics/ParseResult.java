@@ -0,0 +1,38 @@
+package metrics;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/** Records parsed from a logs directory, in tool / run order, plus the files that could not be parsed. */
+public class ParseResult {
+    private final List<MetricRecord> records;
+    private final List<Failure> failures;
+
+    public ParseResult(List<MetricRecord> records, List<Failure> failures) {
+        this.records = Collections.unmodifiableList(records);
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    public List<MetricRecord> getRecords() { return records; }
+    public List<Failure> getFailures()     { return failures; }
+    public boolean hasFailures()           { return !failures.isEmpty(); }
+
+    public static class Failure {
+        private final Path file;
+        private final Exception error;
+
+        public Failure(Path file, Exception error) {
+            this.file = file;
+            this.error = error;
+        }
+
+        public Path getFile()        { return file; }
+        public Exception getError()  { return error; }
+
+        @Override
+        public String toString() {
+            return file + ": " + error;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package model;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+public class AppConfig {
+    private static final Properties PROPS = new Properties();
+
+    static {
+        try (InputStream input = AppConfig.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (input != null) {
+                PROPS.load(input);
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to load application configuration", e);
+        }
+    }
+
+    private AppConfig() {}
+
+    // Environment variables win over config.properties: "pool.maxSize" -> POOL_MAXSIZE
+    public static String get(String key) {
+        String env = System.getenv(key.toUpperCase().replace('.', '_'));
+        if (env != null && !env.isEmpty()) {
+            return env;
+        }
+        return PROPS.getProperty(key);
+    }
+
+    public static String get(String key, String defaultValue) {
+        String value = get(key);
+        return value != null ? value.trim() : defaultValue;
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key);
+        if (value == null) return defaultValue;
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid integer for " + key + ": " + value, e);
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = get(key);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid number for " + key + ": " + value, e);
+        }
+    }
+
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+}
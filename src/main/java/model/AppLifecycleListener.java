@@ -0,0 +1,222 @@
+package model;
+
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@WebListener
+public class AppLifecycleListener implements ServletContextListener {
+    // Tombstones of deleted jobs outlive every node's look-back by a wide margin
+    private static final long JOB_DELETIONS_KEPT_MS = 24 * 60 * 60_000L;
+
+    private ScheduledExecutorService maintenance;
+    // Jobs written on other nodes since the last refresh; null until it could be started
+    private JobChangeFeed jobChanges;
+
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        // Bring the schema and indexes up to date before any request is served. Every shard gets
+        // the full schema; only the primary uses the global tables (users, sessions), so a failure
+        // there stops the webapp. A failure on another shard only affects that shard's employers:
+        // it is logged and retried by the maintenance thread rather than taking every node down.
+        List<Integer> unmigrated = new ArrayList<>();
+        if (AppConfig.getBoolean("db.migrate.enabled", true)) {
+            for (int shard = 0; shard < DatabaseUtil.getShardCount(); shard++) {
+                try {
+                    migrate(shard);
+                } catch (Exception e) {
+                    if (shard == 0) {
+                        throw new RuntimeException("Database migration failed on shard 0 (primary)", e);
+                    }
+                    System.err.println("[AppLifecycleListener] Migration failed on shard " + shard
+                            + ", will retry: " + e.getMessage());
+                    unmigrated.add(shard);
+                }
+            }
+        }
+
+        // One load of every job feeds both in-memory indexes below; the change feed starts
+        // first, so nothing written during the load is missed by the first refresh
+        List<Job> allJobs = null;
+        try {
+            jobChanges = JobChangeFeed.start();
+            allJobs = new JobDAO().getAllJobs();
+        } catch (SQLException e) {
+            jobChanges = null; // the first refresh does the full load instead
+            System.err.println("[AppLifecycleListener] Could not load jobs; search and recommendations start empty");
+            e.printStackTrace();
+        }
+
+        // Load every job into the search index; JobDAO keeps it current from here on,
+        // and the periodic reload below brings in other nodes' writes
+        if (allJobs != null) {
+            JobSearchIndex.getInstance().rebuild(allJobs);
+            System.out.println("[AppLifecycleListener] Search index built with "
+                    + JobSearchIndex.getInstance().size() + " job(s)");
+        }
+
+        // Precompute every seeker's recommendations; DAO writes mark affected seekers for refresh
+        if (allJobs != null) {
+            try {
+                RecommendationEngine.getInstance().rebuild(allJobs, new UserDAO().getUsersByRole("JOB_SEEKER"));
+            } catch (SQLException e) {
+                System.err.println("[AppLifecycleListener] Could not precompute recommendations");
+                e.printStackTrace();
+            }
+        }
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "app-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        // Retry shards whose migration failed at startup until each one is up to date
+        if (!unmigrated.isEmpty()) {
+            maintenance.schedule(() -> retryMigrations(unmigrated), 1, TimeUnit.MINUTES);
+        }
+        // Fill the candidate index from resumes stored before this start
+        maintenance.execute(() -> {
+            try {
+                ResumeIndexer.getInstance().indexExisting();
+            } catch (Exception e) {
+                System.err.println("[AppLifecycleListener] Resume indexing failed: " + e.getMessage());
+            }
+        });
+        // Queue again the resumes the indexer dropped while its queue was full
+        maintenance.scheduleWithFixedDelay(() -> {
+            try {
+                int queued = ResumeIndexer.getInstance().retryDropped();
+                if (queued > 0) {
+                    System.out.println("[AppLifecycleListener] Re-queued " + queued + " dropped resume(s) for indexing");
+                }
+            } catch (Exception e) {
+                System.err.println("[AppLifecycleListener] Resume index retry failed: " + e.getMessage());
+            }
+        }, 1, 1, TimeUnit.MINUTES);
+        // Remove resume blobs no application references any more
+        maintenance.scheduleWithFixedDelay(() -> {
+            try {
+                int removed = ResumeStore.getInstance().collectGarbage();
+                if (removed > 0) {
+                    System.out.println("[AppLifecycleListener] Removed " + removed + " unreferenced resume(s)");
+                }
+            } catch (Exception e) {
+                System.err.println("[AppLifecycleListener] Resume garbage collection failed: " + e.getMessage());
+            }
+        }, 5, 60, TimeUnit.MINUTES);
+        // Apply jobs written on other nodes so they show up in search and recommendations
+        // within search.reloadSeconds
+        long reloadSeconds = AppConfig.getLong("search.reloadSeconds", 60);
+        if (reloadSeconds > 0) {
+            maintenance.scheduleWithFixedDelay(this::refreshJobs, reloadSeconds, reloadSeconds, TimeUnit.SECONDS);
+        }
+        // Drop deleted-job tombstones every node has long since read
+        maintenance.scheduleWithFixedDelay(() -> {
+            try {
+                new JobDAO().purgeDeletions(JOB_DELETIONS_KEPT_MS);
+            } catch (Exception e) {
+                System.err.println("[AppLifecycleListener] Job tombstone purge failed: " + e.getMessage());
+            }
+        }, 10, 60, TimeUnit.MINUTES);
+        // Connection pool statistics (active, idle, waiters, borrow wait histogram, statement
+        // cache hits and misses) and the job cache's hit ratio for the logs
+        long statsSeconds = AppConfig.getLong("stats.logSeconds", 300);
+        if (statsSeconds > 0) {
+            maintenance.scheduleWithFixedDelay(() -> {
+                try {
+                    for (PoolStats stats : DatabaseUtil.getPoolStats()) {
+                        System.out.println("[AppLifecycleListener] " + stats);
+                    }
+                    System.out.println("[AppLifecycleListener] " + JobCache.getInstance());
+                } catch (RuntimeException e) {
+                    System.err.println("[AppLifecycleListener] Could not read pool statistics: " + e.getMessage());
+                }
+            }, statsSeconds, statsSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    // Brings the search index and recommendations up to date with the jobs changed since the last call
+    private void refreshJobs() {
+        try {
+            JobSearchIndex index = JobSearchIndex.getInstance();
+            index.beginReload();
+            if (jobChanges == null) {
+                // The jobs could not be loaded with the webapp; start the feed now, with one full load
+                JobChangeFeed feed = JobChangeFeed.start();
+                List<Job> allJobs = new JobDAO().getAllJobs();
+                index.rebuild(allJobs);
+                RecommendationEngine.getInstance().rebuild(allJobs, new UserDAO().getUsersByRole("JOB_SEEKER"));
+                jobChanges = feed;
+                return;
+            }
+            JobChangeFeed.Changes changes = jobChanges.poll();
+            index.applyChanges(changes.getChanged(), changes.getRemoved());
+            // Seekers whose matches the changes touch get their lists recomputed on their next read
+            RecommendationEngine recommendations = RecommendationEngine.getInstance();
+            for (Job job : changes.getChanged()) {
+                recommendations.jobChanged(job);
+            }
+            for (int jobId : changes.getRemoved()) {
+                recommendations.jobRemoved(jobId);
+            }
+            if (!changes.isEmpty()) {
+                // This node's cached copies and page ETags must not outlive other nodes' writes either
+                JobCache cache = JobCache.getInstance();
+                for (Job job : changes.getChanged()) {
+                    cache.invalidateJob(job.getJobId(), job.getEmployerId());
+                }
+                for (int jobId : changes.getRemoved()) {
+                    cache.invalidateJob(jobId, 0);
+                }
+                DataVersions.jobsChanged();
+            }
+        } catch (Exception e) {
+            System.err.println("[AppLifecycleListener] Search index refresh failed: " + e.getMessage());
+        }
+    }
+
+    private void retryMigrations(List<Integer> shards) {
+        for (Iterator<Integer> it = shards.iterator(); it.hasNext(); ) {
+            int shard = it.next();
+            try {
+                migrate(shard);
+                it.remove();
+            } catch (Exception e) {
+                System.err.println("[AppLifecycleListener] Migration retry failed on shard " + shard
+                        + ": " + e.getMessage());
+            }
+        }
+        if (!shards.isEmpty()) {
+            maintenance.schedule(() -> retryMigrations(shards), 1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static void migrate(int shard) throws SQLException, IOException {
+        try (Connection conn = DatabaseUtil.getShardConnection(shard)) {
+            int applied = new SchemaMigrator().migrate(conn);
+            System.out.println("[AppLifecycleListener] Schema up to date on shard " + shard
+                    + " (" + applied + " migration(s) applied)");
+        }
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        if (maintenance != null) {
+            maintenance.shutdownNow();
+        }
+        ResumeIndexer.getInstance().shutdown();
+        AsyncDbServlet.shutdownExecutor();
+        ShardRouter.shutdown();
+        // Close pooled connections and stop the housekeeper thread on undeploy
+        DatabaseUtil.shutdown();
+    }
+}
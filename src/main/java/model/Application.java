@@ -7,7 +7,9 @@ public class Application {
     private String status;
     private String applicationDate;
     private String resumePath;
+    private String resumeName;
     private String jobTitle;
+    private double jobSalary;
     private String applicantName;
 
     // Default constructor
@@ -40,9 +42,15 @@ public class Application {
     public String getResumePath() { return resumePath; }
     public void setResumePath(String resumePath) { this.resumePath = resumePath; }
     
+    public String getResumeName() { return resumeName; }
+    public void setResumeName(String resumeName) { this.resumeName = resumeName; }
+    
     public String getJobTitle() { return jobTitle; }
     public void setJobTitle(String jobTitle) { this.jobTitle = jobTitle; }
     
+    public double getJobSalary() { return jobSalary; }
+    public void setJobSalary(double jobSalary) { this.jobSalary = jobSalary; }
+    
     public String getApplicantName() { return applicantName; }
     public void setApplicantName(String applicantName) { this.applicantName = applicantName; }
 }
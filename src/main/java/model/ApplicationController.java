@@ -4,7 +4,6 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import jakarta.servlet.annotation.*;
 import java.io.*;
-import java.nio.file.Paths;
 
 @WebServlet("/applyJob")
 @MultipartConfig(
@@ -17,13 +16,11 @@ public class ApplicationController extends HttpServlet {
 	 * 
 	 */
 	private static final long serialVersionUID = 1L;
-	private static final String UPLOAD_DIR = "resumes";
 
     protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession();
-        User user = (User) session.getAttribute("user");
+        SessionUser user = Sessions.currentUser(request);
         
         if (user == null || !user.getRole().equals("JOB_SEEKER")) {
             response.sendRedirect("login.jsp");
@@ -33,23 +30,19 @@ public class ApplicationController extends HttpServlet {
         try {
             int jobId = Integer.parseInt(request.getParameter("jobId"));
             
-            String appPath = request.getServletContext().getRealPath("");
-            String savePath = appPath + File.separator + UPLOAD_DIR;
-            
-            File fileSaveDir = new File(savePath);
-            if (!fileSaveDir.exists()) fileSaveDir.mkdir();
-            
+            // Stored by content hash outside the webapp; identical files share one blob
             Part filePart = request.getPart("resume");
-            String fileName = System.currentTimeMillis() + "_" + user.getUserId() + "_" 
-                            + Paths.get(filePart.getSubmittedFileName()).getFileName().toString();
-            
-            filePart.write(savePath + File.separator + fileName);
+            String resumeKey;
+            try (InputStream in = filePart.getInputStream()) {
+                resumeKey = ResumeStore.getInstance().store(in, filePart.getSubmittedFileName());
+            }
             
             Application application = new Application();
             application.setJobId(jobId);
             application.setApplicantId(user.getUserId());
             application.setStatus("PENDING");
-            application.setResumePath(UPLOAD_DIR + "/" + fileName);
+            application.setResumePath(resumeKey);
+            application.setResumeName(ResumeStore.displayName(filePart.getSubmittedFileName()));
             
             new ApplicationDAO().addApplication(application);
             
@@ -2,69 +2,374 @@ package model;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class ApplicationDAO {
+    private static final Map<PageRequest.SortKey, String> SORT_COLUMNS = new EnumMap<>(PageRequest.SortKey.class);
+    static {
+        SORT_COLUMNS.put(PageRequest.SortKey.SALARY, "j.salary");
+        // application_id grows with application_date and, unlike the date, is indexed
+        SORT_COLUMNS.put(PageRequest.SortKey.DATE, "a.application_id");
+        SORT_COLUMNS.put(PageRequest.SortKey.TITLE, "j.title");
+    }
+    private static final String APPLICATION_COLUMNS = "a.application_id, a.job_id, a.applicant_id, a.status, "
+            + "a.application_date, a.resume_path, j.title AS job_title, j.salary AS job_salary";
+    private static final int STATUS_UPDATE_CHUNK = 100;
+    // users live on the primary only, so with shards applicant names are looked up there instead of joined
+    static final String EMPLOYER_APPLICATIONS_FROM = ShardRouter.isSharded()
+            ? "SELECT " + APPLICATION_COLUMNS + " FROM applications a JOIN jobs j ON a.job_id = j.job_id "
+            : "SELECT " + APPLICATION_COLUMNS + ", u.name AS applicant_name "
+              + "FROM applications a "
+              + "JOIN jobs j ON a.job_id = j.job_id "
+              + "JOIN users u ON a.applicant_id = u.user_id ";
     
-    // Add new job application
+    // Add new job application; a stored resume blob gains a reference in the same transaction
     public void addApplication(Application application) throws SQLException {
-        String sql = "INSERT INTO applications (job_id, applicant_id, status, resume_path) VALUES (?, ?, ?, ?)";
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, application.getJobId());
-            stmt.setInt(2, application.getApplicantId());
-            stmt.setString(3, application.getStatus());
-            stmt.setString(4, application.getResumePath());
-            stmt.executeUpdate();
+        String sql = "INSERT INTO applications (job_id, applicant_id, status, resume_path, resume_name) "
+                   + "VALUES (?, ?, ?, ?, ?)";
+        int employerId = 0;
+        // On the job's shard, which also numbers the application so its id maps back there
+        try (Connection conn = DatabaseUtil.getShardConnection(ShardRouter.shardForId(application.getJobId()))) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                stmt.setInt(1, application.getJobId());
+                stmt.setInt(2, application.getApplicantId());
+                stmt.setString(3, application.getStatus());
+                stmt.setString(4, application.getResumePath());
+                stmt.setString(5, application.getResumeName());
+                stmt.executeUpdate();
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        application.setApplicationId(rs.getInt(1));
+                    }
+                }
+                if (ResumeStore.isKey(application.getResumePath())) {
+                    try (PreparedStatement ref = conn.prepareStatement("INSERT INTO resume_blobs (blob_key, ref_count) "
+                            + "VALUES (?, 1) ON DUPLICATE KEY UPDATE ref_count = ref_count + 1")) {
+                        ref.setString(1, application.getResumePath());
+                        ref.executeUpdate();
+                    }
+                }
+                employerId = employerOfJob(conn, application.getJobId());
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        DatabaseUtil.recordWrite();
+        DataVersions.applicationsChanged(application.getApplicantId(), employerId);
+        // Text extraction for candidate search happens off the request thread
+        ResumeIndexer.getInstance().submit(application);
+    }
+
+    private static int employerOfJob(Connection conn, int jobId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT employer_id FROM jobs WHERE job_id = ?")) {
+            stmt.setInt(1, jobId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
         }
     }
 
     // Get applications for employer
     public List<Application> getApplicationsByEmployer(int employerId) throws SQLException {
         List<Application> applications = new ArrayList<>();
-        String sql = "SELECT a.*, j.title AS job_title, u.name AS applicant_name "
-                   + "FROM applications a "
-                   + "JOIN jobs j ON a.job_id = j.job_id "
-                   + "JOIN users u ON a.applicant_id = u.user_id "
-                   + "WHERE j.employer_id = ?";
+        String sql = EMPLOYER_APPLICATIONS_FROM + "WHERE j.employer_id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getShardReadConnection(ShardRouter.shardForEmployer(employerId), false);
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, employerId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                applications.add(mapApplication(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Application> mapper = applicationMapper(rs);
+                while (rs.next()) {
+                    applications.add(mapper.mapRow(rs));
+                }
             }
         }
+        fillApplicantNames(applications);
         return applications;
     }
 
+    // The employer's applications with a stored resume that CandidateIndex has not indexed yet
+    public List<Application> getUnindexedApplications(int employerId) throws SQLException {
+        List<Application> applications = new ArrayList<>();
+        String sql = EMPLOYER_APPLICATIONS_FROM
+                + "LEFT JOIN resume_index r ON r.application_id = a.application_id "
+                + "WHERE j.employer_id = ? AND r.application_id IS NULL AND a.resume_path LIKE 'sha256/%'";
+        try (Connection conn = DatabaseUtil.getShardReadConnection(ShardRouter.shardForEmployer(employerId), false);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, employerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Application> mapper = applicationMapper(rs);
+                while (rs.next()) {
+                    applications.add(mapper.mapRow(rs));
+                }
+            }
+        }
+        return applications;
+    }
+
+    static void fillApplicantNames(List<Application> applications) throws SQLException {
+        if (!ShardRouter.isSharded() || applications.isEmpty()) {
+            return;
+        }
+        Set<Integer> applicantIds = new HashSet<>();
+        for (Application app : applications) {
+            applicantIds.add(app.getApplicantId());
+        }
+        Map<Integer, String> names = new UserDAO().getNames(applicantIds);
+        for (Application app : applications) {
+            app.setApplicantName(names.get(app.getApplicantId()));
+        }
+    }
+
+    // One keyset page of applications for employer
+    public Page<Application> getApplicationsByEmployer(int employerId, PageRequest page) throws SQLException {
+        return getApplicationsByEmployer(employerId, null, page);
+    }
+
+    // One keyset page of an employer's applications in the given status (all statuses when null)
+    public Page<Application> getApplicationsByEmployer(int employerId, String status, PageRequest page) throws SQLException {
+        List<Application> applications = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(EMPLOYER_APPLICATIONS_FROM + "WHERE j.employer_id = ?");
+        if (status != null) {
+            sql.append(" AND a.status = ?");
+        }
+        page.appendKeyset(sql, SORT_COLUMNS, "a.application_id", true);
+
+        try (Connection conn = DatabaseUtil.getShardReadConnection(ShardRouter.shardForEmployer(employerId), false);
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setInt(index++, employerId);
+            if (status != null) {
+                stmt.setString(index++, status);
+            }
+            page.bindKeyset(stmt, index, SORT_COLUMNS, "a.application_id");
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Application> mapper = applicationMapper(rs);
+                while (rs.next()) {
+                    applications.add(mapper.mapRow(rs));
+                }
+            }
+        }
+        fillApplicantNames(applications);
+        return Page.of(applications, page.getPageSize(), Application::getApplicationId,
+                app -> sortValue(app, page.getSortKey()));
+    }
+
+    // Per-job application counts by status for an employer, aggregated in SQL; given a status, only
+    // that one is counted, reading just its range of idx_applications_job_status for each job
+    public List<ApplicationSummary> getApplicationSummaries(int employerId, String status) throws SQLException {
+        String sql = "SELECT j.job_id, j.title, a.status, COUNT(a.application_id) AS cnt "
+                   + "FROM jobs j "
+                   + "LEFT JOIN applications a ON a.job_id = j.job_id"
+                   + (status != null ? " AND a.status = ? " : " ")
+                   + "WHERE j.employer_id = ? "
+                   + "GROUP BY j.job_id, j.title, a.status "
+                   + "ORDER BY j.job_id DESC";
+        Map<Integer, ApplicationSummary> summaries = new LinkedHashMap<>();
+        try (Connection conn = DatabaseUtil.getShardReadConnection(ShardRouter.shardForEmployer(employerId), false);
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (status != null) {
+                stmt.setString(index++, status);
+            }
+            stmt.setInt(index, employerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int jobId = rs.getInt(1);
+                    ApplicationSummary summary = summaries.get(jobId);
+                    if (summary == null) {
+                        summary = new ApplicationSummary(jobId, rs.getString(2));
+                        summaries.put(jobId, summary);
+                    }
+                    String rowStatus = rs.getString(3);
+                    if (rowStatus != null) {
+                        summary.setCount(rowStatus, rs.getInt(4));
+                    }
+                }
+            }
+        }
+        return new ArrayList<>(summaries.values());
+    }
+
+    private static String sortValue(Application app, PageRequest.SortKey sortKey) {
+        switch (sortKey) {
+            case SALARY: return String.valueOf(app.getJobSalary());
+            case TITLE: return app.getJobTitle();
+            default: return String.valueOf(app.getApplicationId());
+        }
+    }
+
+    /**
+     * The name the resume was uploaded under, if the user may download it: it
+     * belongs to one of their applications, or to an application for one of
+     * their jobs. Null when they may not; "" for rows stored without a name.
+     * Identical files share a key, so the user's own upload's name wins.
+     */
+    public String getResumeName(String resumePath, int userId) throws SQLException {
+        String sql = "SELECT COALESCE(a.resume_name, '') FROM applications a JOIN jobs j ON a.job_id = j.job_id "
+                   + "WHERE a.resume_path = ? AND (a.applicant_id = ? OR j.employer_id = ?) "
+                   + "ORDER BY a.applicant_id = ? DESC LIMIT 1";
+        String name = null;
+        for (String shardName : ShardRouter.fanOut(shard -> {
+            try (Connection conn = DatabaseUtil.getShardReadConnection(shard, false);
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, resumePath);
+                stmt.setInt(2, userId);
+                stmt.setInt(3, userId);
+                stmt.setInt(4, userId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? rs.getString(1) : null;
+                }
+            }
+        })) {
+            if (shardName != null && (name == null || name.isEmpty())) {
+                name = shardName;
+            }
+        }
+        return name;
+    }
+
     // Get applications for job seeker
+    // An applicant's applications can be on every shard; they are merged in shard order
     public List<Application> getApplicationsByApplicant(int applicantId) throws SQLException {
-        List<Application> applications = new ArrayList<>();
-        String sql = "SELECT a.*, j.title AS job_title FROM applications a "
+        String sql = "SELECT " + APPLICATION_COLUMNS + " FROM applications a "
                    + "JOIN jobs j ON a.job_id = j.job_id "
                    + "WHERE a.applicant_id = ?";
         
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, applicantId);
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) {
-                applications.add(mapApplication(rs));
+        return ShardRouter.fanOutAll(shard -> {
+            List<Application> applications = new ArrayList<>();
+            try (Connection conn = DatabaseUtil.getShardReadConnection(shard, false);
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, applicantId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    RowMapper<Application> mapper = applicationMapper(rs);
+                    while (rs.next()) {
+                        applications.add(mapper.mapRow(rs));
+                    }
+                }
             }
-        }
-        return applications;
+            return applications;
+        });
+    }
+
+    // Ids of the jobs the applicant applied to; index-only on (applicant_id, job_id)
+    public Set<Integer> getAppliedJobIds(int applicantId) throws SQLException {
+        String sql = "SELECT job_id FROM applications WHERE applicant_id = ?";
+        return new HashSet<>(ShardRouter.fanOutAll(shard -> {
+            List<Integer> jobIds = new ArrayList<>();
+            try (Connection conn = DatabaseUtil.getShardReadConnection(shard, false);
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, applicantId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        jobIds.add(rs.getInt(1));
+                    }
+                }
+            }
+            return jobIds;
+        }));
     }
 
     // Update application status
     public void updateApplicationStatus(int applicationId, String status) throws SQLException {
         String sql = "UPDATE applications SET status = ? WHERE application_id = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, status);
-            stmt.setInt(2, applicationId);
-            stmt.executeUpdate();
+        int applicantId = 0;
+        int employerId = 0;
+        try (Connection conn = DatabaseUtil.getShardConnection(ShardRouter.shardForId(applicationId))) {
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT a.applicant_id, j.employer_id "
+                    + "FROM applications a JOIN jobs j ON a.job_id = j.job_id WHERE a.application_id = ?")) {
+                stmt.setInt(1, applicationId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next()) {
+                        applicantId = rs.getInt(1);
+                        employerId = rs.getInt(2);
+                    }
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, status);
+                stmt.setInt(2, applicationId);
+                stmt.executeUpdate();
+            }
+        }
+        DatabaseUtil.recordWrite();
+        DataVersions.applicationsChanged(applicantId, employerId);
+    }
+
+    /**
+     * Sets the status of many applications in one transaction, touching only
+     * applications for the employer's own jobs; ids belonging to other
+     * employers are silently skipped. Returns the number of rows changed.
+     */
+    public int updateApplicationStatuses(int employerId, List<Integer> applicationIds, String status) throws SQLException {
+        if (applicationIds.isEmpty()) {
+            return 0;
+        }
+        // Fixed-size IN lists keep a single statement shape for the statement cache;
+        // the last chunk is padded by repeating its final id
+        StringBuilder in = new StringBuilder(" AND a.application_id IN (");
+        for (int i = 0; i < STATUS_UPDATE_CHUNK; i++) {
+            in.append(i == 0 ? "?" : ", ?");
+        }
+        in.append(")");
+        String sql = "UPDATE applications a JOIN jobs j ON a.job_id = j.job_id "
+                + "SET a.status = ? WHERE j.employer_id = ?" + in;
+        // The applicants whose pages change, for DataVersions
+        String applicantsSql = "SELECT DISTINCT a.applicant_id FROM applications a JOIN jobs j ON a.job_id = j.job_id "
+                + "WHERE j.employer_id = ?" + in;
+
+        int updated = 0;
+        Set<Integer> applicants = new HashSet<>();
+        Connection conn = null;
+        try {
+            conn = DatabaseUtil.getShardConnection(ShardRouter.shardForEmployer(employerId));
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql);
+                 PreparedStatement select = conn.prepareStatement(applicantsSql)) {
+                for (int start = 0; start < applicationIds.size(); start += STATUS_UPDATE_CHUNK) {
+                    List<Integer> chunk = applicationIds.subList(start,
+                            Math.min(start + STATUS_UPDATE_CHUNK, applicationIds.size()));
+                    stmt.setString(1, status);
+                    stmt.setInt(2, employerId);
+                    select.setInt(1, employerId);
+                    for (int i = 0; i < STATUS_UPDATE_CHUNK; i++) {
+                        int id = chunk.get(Math.min(i, chunk.size() - 1));
+                        stmt.setInt(3 + i, id);
+                        select.setInt(2 + i, id);
+                    }
+                    int changed = stmt.executeUpdate();
+                    if (changed > 0) {
+                        try (ResultSet rs = select.executeQuery()) {
+                            while (rs.next()) {
+                                applicants.add(rs.getInt(1));
+                            }
+                        }
+                    }
+                    updated += changed;
+                }
+            }
+            conn.commit();
+            DatabaseUtil.recordWrite();
+            if (updated > 0) {
+                DataVersions.applicationsChanged(employerId);
+                for (int applicantId : applicants) {
+                    DataVersions.applicationsChanged(applicantId);
+                }
+            }
+            return updated;
+        } catch (SQLException e) {
+            if (conn != null) conn.rollback();
+            throw e;
+        } finally {
+            if (conn != null) conn.close();
         }
     }
 
@@ -72,10 +377,30 @@ public class ApplicationDAO {
     public boolean deleteJob(int jobId, int employerId) throws SQLException {
         Connection conn = null;
         try {
-            conn = DatabaseUtil.getConnection();
+            conn = DatabaseUtil.getShardConnection(ShardRouter.shardForEmployer(employerId));
             conn.setAutoCommit(false);
 
-            // Delete applications first
+            // Lock the job's applications so a background indexer cannot add terms for them meanwhile
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT application_id FROM applications WHERE job_id = ? FOR UPDATE")) {
+                stmt.setInt(1, jobId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) { /* locked */ }
+                }
+            }
+            CandidateIndex.removeJob(conn, jobId);
+
+            // Release the resume blobs held by the job's applications, then delete them
+            String releaseSQL = "UPDATE resume_blobs b JOIN (SELECT a.resume_path, COUNT(*) AS refs "
+                    + "FROM applications a JOIN jobs j ON a.job_id = j.job_id "
+                    + "WHERE a.job_id = ? AND j.employer_id = ? GROUP BY a.resume_path) r "
+                    + "ON b.blob_key = r.resume_path SET b.ref_count = b.ref_count - r.refs";
+            try (PreparedStatement stmt = conn.prepareStatement(releaseSQL)) {
+                stmt.setInt(1, jobId);
+                stmt.setInt(2, employerId);
+                stmt.executeUpdate();
+            }
+
             String deleteAppsSQL = "DELETE FROM applications WHERE job_id = ?";
             try (PreparedStatement stmt = conn.prepareStatement(deleteAppsSQL)) {
                 stmt.setInt(1, jobId);
@@ -88,7 +413,17 @@ public class ApplicationDAO {
                 stmt.setInt(1, jobId);
                 stmt.setInt(2, employerId);
                 int affected = stmt.executeUpdate();
+                if (affected > 0) {
+                    JobDAO.recordDeletion(conn, jobId);
+                }
                 conn.commit();
+                DatabaseUtil.recordWrite();
+                if (affected > 0) {
+                    JobCache.getInstance().invalidateJob(jobId, employerId);
+                    JobSearchIndex.getInstance().remove(jobId);
+                    RecommendationEngine.getInstance().jobRemoved(jobId);
+                    DataVersions.jobsChanged();
+                }
                 return affected > 0;
             }
         } catch (SQLException e) {
@@ -99,32 +434,72 @@ public class ApplicationDAO {
         }
     }
 
-    private Application mapApplication(ResultSet rs) throws SQLException {
-        Application app = new Application();
-        app.setApplicationId(rs.getInt("application_id"));
-        app.setJobId(rs.getInt("job_id"));
-        app.setApplicantId(rs.getInt("applicant_id"));
-        app.setStatus(rs.getString("status"));
-        app.setApplicationDate(rs.getString("application_date"));
-        app.setResumePath(rs.getString("resume_path"));
-        app.setJobTitle(rs.getString("job_title"));
-        
-        try {
-            app.setApplicantName(rs.getString("applicant_name"));
-        } catch (SQLException e) {
-            // Column not present in some queries
-        }
-        
-        return app;
+    // applicant_name is only projected by the employer-side queries
+    static RowMapper<Application> applicationMapper(ResultSet rs) throws SQLException {
+        ResultColumns cols = ResultColumns.of(rs);
+        int applicationId = cols.require("application_id");
+        int jobId = cols.require("job_id");
+        int applicantId = cols.require("applicant_id");
+        int status = cols.require("status");
+        int applicationDate = cols.require("application_date");
+        int resumePath = cols.require("resume_path");
+        int jobTitle = cols.optional("job_title");
+        int jobSalary = cols.optional("job_salary");
+        int applicantName = cols.optional("applicant_name");
+        return row -> {
+            Application app = new Application();
+            app.setApplicationId(row.getInt(applicationId));
+            app.setJobId(row.getInt(jobId));
+            app.setApplicantId(row.getInt(applicantId));
+            app.setStatus(row.getString(status));
+            app.setApplicationDate(row.getString(applicationDate));
+            app.setResumePath(row.getString(resumePath));
+            if (jobTitle > 0) app.setJobTitle(row.getString(jobTitle));
+            if (jobSalary > 0) app.setJobSalary(row.getDouble(jobSalary));
+            if (applicantName > 0) app.setApplicantName(row.getString(applicantName));
+            return app;
+        };
     }
     
     
     public void deleteApplication(int applicationId) throws SQLException {
-        String sql = "DELETE FROM applications WHERE application_id = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setInt(1, applicationId);
-            stmt.executeUpdate();
+        int applicantId = 0;
+        int employerId = 0;
+        try (Connection conn = DatabaseUtil.getShardConnection(ShardRouter.shardForId(applicationId))) {
+            conn.setAutoCommit(false);
+            try {
+                String resumePath = null;
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT a.resume_path, a.applicant_id, j.employer_id "
+                        + "FROM applications a JOIN jobs j ON a.job_id = j.job_id "
+                        + "WHERE a.application_id = ? FOR UPDATE OF a")) {
+                    stmt.setInt(1, applicationId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (rs.next()) {
+                            resumePath = rs.getString(1);
+                            applicantId = rs.getInt(2);
+                            employerId = rs.getInt(3);
+                        }
+                    }
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM applications WHERE application_id = ?")) {
+                    stmt.setInt(1, applicationId);
+                    stmt.executeUpdate();
+                }
+                CandidateIndex.removeApplication(conn, applicationId);
+                if (ResumeStore.isKey(resumePath)) {
+                    try (PreparedStatement stmt = conn.prepareStatement(
+                            "UPDATE resume_blobs SET ref_count = ref_count - 1 WHERE blob_key = ?")) {
+                        stmt.setString(1, resumePath);
+                        stmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
         }
+        DatabaseUtil.recordWrite();
+        DataVersions.applicationsChanged(applicantId, employerId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Application counts per status for one job. */
+public class ApplicationSummary {
+    private final int jobId;
+    private final String jobTitle;
+    private final Map<String, Integer> countsByStatus = new LinkedHashMap<>();
+
+    public ApplicationSummary(int jobId, String jobTitle) {
+        this.jobId = jobId;
+        this.jobTitle = jobTitle;
+    }
+
+    public int getJobId() { return jobId; }
+    public String getJobTitle() { return jobTitle; }
+
+    public void setCount(String status, int count) {
+        countsByStatus.put(status, count);
+    }
+
+    public int getCount(String status) {
+        return countsByStatus.getOrDefault(status, 0);
+    }
+
+    public Map<String, Integer> getCountsByStatus() {
+        return Collections.unmodifiableMap(countsByStatus);
+    }
+
+    public int getPending() { return getCount("PENDING"); }
+    public int getAccepted() { return getCount("ACCEPTED"); }
+    public int getRejected() { return getCount("REJECTED"); }
+
+    public int getTotal() {
+        int total = 0;
+        for (int count : countsByStatus.values()) {
+            total += count;
+        }
+        return total;
+    }
+}
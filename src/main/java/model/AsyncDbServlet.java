@@ -0,0 +1,219 @@
+package model;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base for controllers that spend most of their time in JDBC. With
+ * async.enabled=true, a GET releases its container thread straight away and
+ * runs on a virtual thread (Java 21+; a platform pool the size of the limit on
+ * older JVMs). A semaphore sized to the connection pool caps how many run at
+ * once, so a slow database queues work here instead of exhausting container
+ * threads; requests that cannot get a slot within the pool's borrow timeout
+ * get 503. On the platform pool the backlog is also capped at
+ * async.queueCapacity, and every request is cut off with 503 after
+ * async.timeoutMs, so overload is answered rather than held in memory.
+ * Subclasses implement handleGet and render with forward().
+ */
+public abstract class AsyncDbServlet extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    private static final boolean ENABLED = AppConfig.getBoolean("async.enabled", false);
+    private static final int MAX_CONCURRENT =
+            AppConfig.getInt("async.maxConcurrent", AppConfig.getInt("pool.maxSize", 20));
+    private static final long ACQUIRE_TIMEOUT_MS = AppConfig.getLong("pool.borrowTimeoutMs", 5000);
+    private static final int QUEUE_CAPACITY = AppConfig.getInt("async.queueCapacity", MAX_CONCURRENT * 4);
+    private static final long ASYNC_TIMEOUT_MS = AppConfig.getLong("async.timeoutMs", 30000);
+    private static final Semaphore LIMITER = new Semaphore(MAX_CONCURRENT, true);
+    private static final String FORWARD_ATTRIBUTE = AsyncDbServlet.class.getName() + ".forward";
+    private static volatile ExecutorService executor;
+
+    protected abstract void handleGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException;
+
+    @Override
+    protected final void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        if (!ENABLED || !request.isAsyncSupported()) {
+            handleGet(request, response);
+            return;
+        }
+        AsyncContext ctx = request.startAsync();
+        ctx.setTimeout(ASYNC_TIMEOUT_MS);
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ctx.addListener(new TimeoutListener(timedOut));
+        Integer userId = DatabaseUtil.boundUser();
+        try {
+            executor().execute(() -> {
+                if (timedOut.get()) {
+                    return; // answered while queued
+                }
+                DatabaseUtil.bindUser(userId);
+                try {
+                    run(ctx);
+                } finally {
+                    DatabaseUtil.bindUser(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Backlog full, or shutting down
+            busy(response);
+            complete(ctx);
+        }
+    }
+
+    /** Renders a view; in async mode this happens through AsyncContext.dispatch once handleGet returns. */
+    protected void forward(HttpServletRequest request, HttpServletResponse response, String path)
+            throws ServletException, IOException {
+        if (request.isAsyncStarted()) {
+            request.setAttribute(FORWARD_ATTRIBUTE, path);
+        } else {
+            request.getRequestDispatcher(path).forward(request, response);
+        }
+    }
+
+    private void run(AsyncContext ctx) {
+        HttpServletRequest request = (HttpServletRequest) ctx.getRequest();
+        HttpServletResponse response = (HttpServletResponse) ctx.getResponse();
+        boolean acquired = false;
+        boolean dispatched = false;
+        try {
+            acquired = LIMITER.tryAcquire(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            if (!acquired) {
+                busy(response);
+                return;
+            }
+            handleGet(request, response);
+            String path = (String) request.getAttribute(FORWARD_ATTRIBUTE);
+            if (path != null) {
+                request.removeAttribute(FORWARD_ATTRIBUTE);
+                ctx.dispatch(path.startsWith("/") ? path : "/" + path);
+                dispatched = true;
+            }
+        } catch (Throwable t) {
+            // Same page the container would show for an exception thrown from doGet
+            System.err.println("[" + getClass().getSimpleName() + "] " + t);
+            if (!response.isCommitted()) {
+                request.setAttribute(RequestDispatcher.ERROR_EXCEPTION, t instanceof ServletException
+                        && t.getCause() != null ? t.getCause() : t);
+                request.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                try {
+                    ctx.dispatch("/error.jsp");
+                    dispatched = true;
+                } catch (IllegalStateException e) {
+                    // Already completed by the timeout
+                }
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+        } finally {
+            if (acquired) {
+                LIMITER.release();
+            }
+            // Whatever went wrong, never leave the request hanging
+            if (!dispatched) {
+                complete(ctx);
+            }
+        }
+    }
+
+    private static void busy(HttpServletResponse response) throws IOException {
+        response.setHeader("Retry-After", "1");
+        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server busy, please retry");
+    }
+
+    private static void complete(AsyncContext ctx) {
+        try {
+            ctx.complete();
+        } catch (IllegalStateException e) {
+            // Already completed or dispatched, e.g. by the timeout
+        }
+    }
+
+    // Answers 503 when a request outlives async.timeoutMs, queued or running
+    private static final class TimeoutListener implements AsyncListener {
+        private final AtomicBoolean timedOut;
+
+        TimeoutListener(AtomicBoolean timedOut) {
+            this.timedOut = timedOut;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            timedOut.set(true);
+            HttpServletResponse response = (HttpServletResponse) event.getAsyncContext().getResponse();
+            if (!response.isCommitted()) {
+                busy(response);
+            }
+            complete(event.getAsyncContext());
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
+    private static ExecutorService executor() {
+        ExecutorService e = executor;
+        if (e == null) {
+            synchronized (AsyncDbServlet.class) {
+                e = executor;
+                if (e == null) {
+                    e = createExecutor();
+                    executor = e;
+                }
+            }
+        }
+        return e;
+    }
+
+    // Virtual threads when the JVM has them; looked up reflectively so the code still runs on Java 17.
+    // The platform pool's queue is bounded: a full backlog is rejected (503) instead of growing.
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return new ThreadPoolExecutor(MAX_CONCURRENT, MAX_CONCURRENT, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, QUEUE_CAPACITY)), r -> {
+                        Thread t = new Thread(r, "async-db-" + count.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+        }
+    }
+
+    /** Stops the worker threads; called on undeploy. */
+    public static synchronized void shutdownExecutor() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
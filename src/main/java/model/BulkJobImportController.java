@@ -0,0 +1,171 @@
+package model;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@WebServlet("/importJobs")
+@MultipartConfig(
+    fileSizeThreshold = 1024 * 1024 * 1, // 1 MB
+    maxFileSize = 1024 * 1024 * 50,      // 50 MB
+    maxRequestSize = 1024 * 1024 * 60    // 60 MB
+)
+public class BulkJobImportController extends HttpServlet {
+
+	private static final long serialVersionUID = 1L;
+	private static final int DEFAULT_BATCH_SIZE = AppConfig.getInt("import.batchSize", 500);
+	private static final int MAX_BATCH_SIZE = 5000;
+	// Cap on per-row errors echoed back, so a garbage file can't produce a huge response
+	private static final int MAX_REPORTED_ERRORS = 1000;
+
+	protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        SessionUser user = Sessions.currentUser(request);
+
+        if (user == null || !user.getRole().equals("EMPLOYER")) {
+            response.sendRedirect("login.jsp");
+            return;
+        }
+
+        Part filePart = request.getPart("file");
+        if (filePart == null || filePart.getSize() == 0) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "No file uploaded");
+            return;
+        }
+        int batchSize = DEFAULT_BATCH_SIZE;
+        String batchParam = request.getParameter("batchSize");
+        if (batchParam != null) {
+            try {
+                batchSize = Math.max(1, Math.min(Integer.parseInt(batchParam), MAX_BATCH_SIZE));
+            } catch (NumberFormatException e) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid batchSize");
+                return;
+            }
+        }
+
+        ImportResult result = new ImportResult();
+        JobImportReader.Format format = JobImportReader.detectFormat(
+                filePart.getSubmittedFileName(), filePart.getContentType());
+        JobDAO jobDAO = new JobDAO();
+        List<Job> chunk = new ArrayList<>(batchSize);
+        List<Integer> chunkRows = new ArrayList<>(batchSize);
+
+        String parseError = null;
+        try {
+            try (JobImportReader reader = new JobImportReader(
+                    new BufferedReader(new InputStreamReader(filePart.getInputStream(), StandardCharsets.UTF_8)), format)) {
+                Map<String, String> row;
+                while ((row = reader.next()) != null) {
+                    int rowNumber = reader.getRowNumber();
+                    try {
+                        chunk.add(toJob(row, user.getUserId()));
+                        chunkRows.add(rowNumber);
+                    } catch (IllegalArgumentException e) {
+                        result.addError(rowNumber, e.getMessage());
+                    }
+                    if (chunk.size() >= batchSize) {
+                        insertChunk(jobDAO, chunk, chunkRows, batchSize, result);
+                    }
+                }
+            } catch (IOException e) {
+                // Malformed file: keep the rows read so far and report where parsing stopped
+                parseError = e.getMessage();
+            }
+            insertChunk(jobDAO, chunk, chunkRows, batchSize, result);
+        } catch (SQLException e) {
+            throw new ServletException("Job import failed", e);
+        }
+        if (parseError != null) {
+            result.addError(-1, "Parsing stopped: " + parseError);
+        }
+
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        try (PrintWriter out = response.getWriter()) {
+            result.writeJson(out);
+        }
+    }
+
+    private void insertChunk(JobDAO jobDAO, List<Job> chunk, List<Integer> chunkRows, int batchSize,
+                             ImportResult result) throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Map<Integer, SQLException> failures = jobDAO.addJobs(chunk, batchSize);
+        if (!failures.isEmpty()) {
+            // The chunk was rolled back; retry its rows one by one to pin the error on the bad row
+            for (int i = 0; i < chunk.size(); i++) {
+                Job job = chunk.get(i);
+                if (job.getJobId() != 0) continue;
+                try {
+                    jobDAO.addJob(job);
+                } catch (SQLException e) {
+                    result.addError(chunkRows.get(i), e.getMessage());
+                }
+            }
+        }
+        for (Job job : chunk) {
+            if (job.getJobId() != 0) {
+                result.jobIds.add(job.getJobId());
+            }
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    private Job toJob(Map<String, String> row, int employerId) {
+        Job job = new Job();
+        job.setTitle(required(row, "title"));
+        job.setDescription(required(row, "description"));
+        job.setLocation(required(row, "location"));
+        String salary = required(row, "salary");
+        try {
+            job.setSalary(Double.parseDouble(salary));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("salary is not a number: " + salary);
+        }
+        if (job.getSalary() < 0) {
+            throw new IllegalArgumentException("salary must not be negative");
+        }
+        job.setEmployerId(employerId);
+        return job;
+    }
+
+    private String required(Map<String, String> row, String field) {
+        String value = row.get(field);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("missing " + field);
+        }
+        return value.trim();
+    }
+
+    private static class ImportResult {
+        final List<Integer> jobIds = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        int errorCount;
+
+        void addError(int row, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("{\"row\":" + row + ",\"error\":" + Json.string(message) + "}");
+            }
+        }
+
+        void writeJson(PrintWriter out) {
+            out.print("{\"inserted\":" + jobIds.size() + ",\"failed\":" + errorCount + ",\"jobIds\":[");
+            for (int i = 0; i < jobIds.size(); i++) {
+                if (i > 0) out.print(',');
+                out.print(jobIds.get(i));
+            }
+            out.print("],\"errors\":[");
+            out.print(String.join(",", errors));
+            out.print("]}");
+        }
+    }
+}
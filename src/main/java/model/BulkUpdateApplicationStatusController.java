@@ -0,0 +1,82 @@
+package model;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Accepts or rejects many applications in one request. appIds may be repeated
+ * or comma separated. Responds with JSON holding the number updated and the
+ * employer's fresh per-job counts, so the dashboard can update in place.
+ */
+@WebServlet("/updateApplicationStatuses")
+public class BulkUpdateApplicationStatusController extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+    private static final Set<String> STATUSES = new LinkedHashSet<>(Arrays.asList("PENDING", "ACCEPTED", "REJECTED"));
+    private static final int MAX_IDS = 5000;
+
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        SessionUser user = Sessions.currentUser(request);
+
+        if (user == null || !user.getRole().equals("EMPLOYER")) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+
+        String status = request.getParameter("status");
+        if (status == null || !STATUSES.contains(status)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "status must be one of " + STATUSES);
+            return;
+        }
+        Set<Integer> ids = new LinkedHashSet<>();
+        String[] values = request.getParameterValues("appIds");
+        if (values != null) {
+            for (String value : values) {
+                for (String id : value.split(",")) {
+                    if (id.trim().isEmpty()) continue;
+                    try {
+                        ids.add(Integer.parseInt(id.trim()));
+                    } catch (NumberFormatException e) {
+                        response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Bad application id: " + id);
+                        return;
+                    }
+                }
+            }
+        }
+        if (ids.size() > MAX_IDS) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "At most " + MAX_IDS + " applications per request");
+            return;
+        }
+
+        try {
+            ApplicationDAO appDAO = new ApplicationDAO();
+            int updated = appDAO.updateApplicationStatuses(user.getUserId(), new ArrayList<>(ids), status);
+            List<ApplicationSummary> summaries = appDAO.getApplicationSummaries(user.getUserId(), "PENDING");
+
+            response.setContentType("application/json");
+            response.setCharacterEncoding("UTF-8");
+            PrintWriter out = response.getWriter();
+            int pendingCount = 0;
+            StringBuilder jobs = new StringBuilder();
+            for (ApplicationSummary summary : summaries) {
+                pendingCount += summary.getPending();
+                if (jobs.length() > 0) jobs.append(',');
+                jobs.append("{\"jobId\":").append(summary.getJobId())
+                    .append(",\"pending\":").append(summary.getPending()).append('}');
+            }
+            out.print("{\"updated\":" + updated + ",\"pendingCount\":" + pendingCount + ",\"jobs\":[" + jobs + "]}");
+        } catch (SQLException e) {
+            throw new ServletException("Status update failed", e);
+        }
+    }
+}
@@ -16,8 +16,7 @@ public class CancelApplicationController extends HttpServlet {
 
 	protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
-        HttpSession session = request.getSession();
-        User user = (User) session.getAttribute("user");
+        SessionUser user = Sessions.currentUser(request);
         if (user == null || !"JOB_SEEKER".equals(user.getRole())) {
             response.sendRedirect("login.jsp");
             return;
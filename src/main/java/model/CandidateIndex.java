@@ -0,0 +1,155 @@
+package model;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-employer inverted index over the text of the resumes sent to that
+ * employer's jobs, filled by ResumeIndexer in the background. The terms live
+ * in the resume_terms table on the employer's shard, so the index is shared
+ * by every node and survives restarts, and memory use does not grow with the
+ * number of applications. A search returns the applications whose resume
+ * contains every query term (each term also matches as a prefix), newest
+ * first. An employer only ever sees their own applicants because every lookup
+ * is keyed by employer.
+ */
+public class CandidateIndex {
+    private static final CandidateIndex INSTANCE = new CandidateIndex();
+    // Matches the resume_terms.term column; longer terms are cut, and still match as a prefix
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MAX_TERMS_PER_RESUME = 5000;
+    private static final int MAX_QUERY_TERMS = 10;
+
+    CandidateIndex() {}
+
+    public static CandidateIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Indexes (or re-indexes) one application's resume text. Does nothing if
+     * the application has been deleted meanwhile; the row lock keeps a
+     * concurrent delete from leaving terms behind.
+     */
+    public void add(int employerId, Application application, String text) throws SQLException {
+        int applicationId = application.getApplicationId();
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : TextTokenizer.tokenize(text)) {
+            if (terms.size() >= MAX_TERMS_PER_RESUME) {
+                break;
+            }
+            terms.add(cut(term));
+        }
+        try (Connection conn = DatabaseUtil.getShardConnection(ShardRouter.shardForEmployer(employerId))) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "SELECT 1 FROM applications WHERE application_id = ? FOR SHARE")) {
+                    stmt.setInt(1, applicationId);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        if (!rs.next()) {
+                            conn.rollback();
+                            return;
+                        }
+                    }
+                }
+                deleteTerms(conn, applicationId);
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "INSERT INTO resume_terms (employer_id, term, application_id) VALUES (?, ?, ?)")) {
+                    for (String term : terms) {
+                        stmt.setInt(1, employerId);
+                        stmt.setString(2, term);
+                        stmt.setInt(3, applicationId);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO resume_index (application_id) "
+                        + "VALUES (?) ON DUPLICATE KEY UPDATE indexed_at = CURRENT_TIMESTAMP")) {
+                    stmt.setInt(1, applicationId);
+                    stmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /** Drops an application from the index; called by ApplicationDAO inside its delete transaction. */
+    static void removeApplication(Connection conn, int applicationId) throws SQLException {
+        deleteTerms(conn, applicationId);
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM resume_index WHERE application_id = ?")) {
+            stmt.setInt(1, applicationId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /** Drops every application to a job; the caller holds the application rows' locks. */
+    static void removeJob(Connection conn, int jobId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE t FROM resume_terms t "
+                + "JOIN applications a ON t.application_id = a.application_id WHERE a.job_id = ?")) {
+            stmt.setInt(1, jobId);
+            stmt.executeUpdate();
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE r FROM resume_index r "
+                + "JOIN applications a ON r.application_id = a.application_id WHERE a.job_id = ?")) {
+            stmt.setInt(1, jobId);
+            stmt.executeUpdate();
+        }
+    }
+
+    /** Applications to the employer's jobs whose resumes mention every term in the query. */
+    public List<Application> search(int employerId, String query, int limit) throws SQLException {
+        List<String> terms = new ArrayList<>();
+        for (String term : TextTokenizer.tokenize(query)) {
+            if (terms.size() < MAX_QUERY_TERMS && !terms.contains(cut(term))) {
+                terms.add(cut(term));
+            }
+        }
+        List<Application> results = new ArrayList<>();
+        if (terms.isEmpty()) {
+            return results;
+        }
+        // Terms are letters and digits only, so they need no LIKE escaping
+        StringBuilder sql = new StringBuilder(ApplicationDAO.EMPLOYER_APPLICATIONS_FROM + "WHERE j.employer_id = ?");
+        for (int i = 0; i < terms.size(); i++) {
+            sql.append(" AND EXISTS (SELECT 1 FROM resume_terms t WHERE t.application_id = a.application_id "
+                    + "AND t.employer_id = ? AND t.term LIKE ?)");
+        }
+        sql.append(" ORDER BY a.application_id DESC LIMIT ?");
+        try (Connection conn = DatabaseUtil.getShardReadConnection(ShardRouter.shardForEmployer(employerId), false);
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            stmt.setInt(index++, employerId);
+            for (String term : terms) {
+                stmt.setInt(index++, employerId);
+                stmt.setString(index++, term + "%");
+            }
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Application> mapper = ApplicationDAO.applicationMapper(rs);
+                while (rs.next()) {
+                    results.add(mapper.mapRow(rs));
+                }
+            }
+        }
+        ApplicationDAO.fillApplicantNames(results);
+        return results;
+    }
+
+    private static void deleteTerms(Connection conn, int applicationId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM resume_terms WHERE application_id = ?")) {
+            stmt.setInt(1, applicationId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private static String cut(String term) {
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term;
+    }
+}
@@ -0,0 +1,400 @@
+package model;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded JDBC connection pool. Callers get a proxy whose close() hands the
+ * physical connection back to the pool instead of closing it, so DAO code using
+ * try-with-resources works unchanged. A connection held past leakReclaimMs
+ * is taken back: its physical connection is closed and its slot freed, so
+ * leaks cannot shrink the pool for good.
+ */
+public class ConnectionPool {
+    // Upper bounds (ms) of the borrow wait-time histogram buckets; the last bucket is open-ended
+    static final long[] WAIT_BUCKETS_MS = {1, 5, 10, 50, 100, 500, 1000, 5000};
+
+    private final String name;
+    private final String url;
+    private final Properties connectionProps;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long leakDetectionMs;
+    private final long leakReclaimMs;
+    private final long validationIntervalMs;
+    private final int validationTimeoutSec;
+    private final int statementCacheSize;
+
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+    private final Semaphore permits;
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong reclaimedCount = new AtomicLong();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+    private final AtomicLongArray waitHistogram = new AtomicLongArray(WAIT_BUCKETS_MS.length + 1);
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean shutdown;
+
+    public ConnectionPool(String name, String url, String user, String password, Properties settings) {
+        this.name = name;
+        this.url = url;
+        this.connectionProps = new Properties();
+        if (user != null) connectionProps.setProperty("user", user);
+        if (password != null) connectionProps.setProperty("password", password);
+        // "driver.*" settings are passed through to the JDBC driver, e.g. driver.useServerPrepStmts
+        for (String key : settings.stringPropertyNames()) {
+            if (key.startsWith("driver.")) {
+                connectionProps.setProperty(key.substring("driver.".length()), settings.getProperty(key));
+            }
+        }
+
+        this.minSize = intSetting(settings, "minSize", 2);
+        this.maxSize = intSetting(settings, "maxSize", 20);
+        this.borrowTimeoutMs = longSetting(settings, "borrowTimeoutMs", 5000);
+        this.idleTimeoutMs = longSetting(settings, "idleTimeoutMs", 600000);
+        this.leakDetectionMs = longSetting(settings, "leakDetectionMs", 60000);
+        this.leakReclaimMs = longSetting(settings, "leakReclaimMs", 600000);
+        this.validationIntervalMs = longSetting(settings, "validationIntervalMs", 500);
+        this.validationTimeoutSec = intSetting(settings, "validationTimeoutSec", 2);
+        this.statementCacheSize = intSetting(settings, "statementCacheSize", 50);
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.permits = new Semaphore(maxSize, true);
+
+        long period = Math.max(1000, Math.min(30000, Math.min(idleTimeoutMs, leakDetectionMs > 0 ? leakDetectionMs : Long.MAX_VALUE) / 2));
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ConnectionPool-" + name + "-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection borrow() throws SQLException {
+        Connection conn = borrow(borrowTimeoutMs);
+        if (conn == null) {
+            throw new SQLException("Timed out after " + borrowTimeoutMs + " ms waiting for a connection from pool "
+                    + name + " (active=" + active.size() + ", max=" + maxSize + ")", "08001");
+        }
+        return conn;
+    }
+
+    /**
+     * Like borrow(), but waits at most timeoutMs (0: only if one is free now)
+     * and returns null instead of throwing when none frees up in time, so a
+     * caller can tell a busy pool from an unreachable database, which still
+     * throws.
+     */
+    public Connection borrow(long timeoutMs) throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool " + name + " is shut down");
+        }
+        long start = System.nanoTime();
+        waiters.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+        recordWait((System.nanoTime() - start) / 1_000_000);
+        if (!acquired) {
+            if (timeoutMs > 0) {
+                timeoutCount.incrementAndGet();
+            }
+            return null;
+        }
+
+        try {
+            PooledConnection pc = takeValidConnection();
+            pc.borrowedAt = System.currentTimeMillis();
+            pc.borrowSite = leakDetectionMs > 0 ? new Throwable("Connection borrowed here") : null;
+            pc.leakReported = false;
+            active.add(pc);
+            borrowCount.incrementAndGet();
+            return pc.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection takeValidConnection() throws SQLException {
+        PooledConnection pc;
+        // Most recently returned first, so the tail of the deque ages out under idle eviction
+        while ((pc = idle.pollFirst()) != null) {
+            if (System.currentTimeMillis() - pc.lastReturned < validationIntervalMs || isValid(pc)) {
+                return pc;
+            }
+            discard(pc);
+        }
+        return createConnection();
+    }
+
+    private boolean isValid(PooledConnection pc) {
+        try {
+            return pc.physical.isValid(validationTimeoutSec);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private PooledConnection createConnection() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, connectionProps);
+        createdCount.incrementAndGet();
+        return new PooledConnection(physical);
+    }
+
+    void release(PooledConnection pc) {
+        if (!active.remove(pc)) {
+            return; // reclaimed as a leak; already closed and its permit released
+        }
+        try {
+            if (pc.statements != null) {
+                pc.statements.releaseAll();
+            }
+            if (shutdown || pc.broken || pc.physical.isClosed()) {
+                discard(pc);
+                return;
+            }
+            // Undo whatever the borrower changed so the next one starts clean
+            if (!pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            if (pc.physical.isReadOnly()) {
+                pc.physical.setReadOnly(false);
+            }
+            pc.physical.clearWarnings();
+            pc.lastReturned = System.currentTimeMillis();
+            idle.offerFirst(pc);
+        } catch (SQLException e) {
+            discard(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pc) {
+        try {
+            pc.physical.close();
+        } catch (SQLException e) {
+            /* ignored */
+        }
+    }
+
+    private void recordWait(long waitedMs) {
+        int bucket = 0;
+        while (bucket < WAIT_BUCKETS_MS.length && waitedMs > WAIT_BUCKETS_MS[bucket]) {
+            bucket++;
+        }
+        waitHistogram.incrementAndGet(bucket);
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Idle eviction: close connections unused for idleTimeoutMs, keeping at least minSize idle
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() > minSize) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastReturned > idleTimeoutMs && idle.remove(pc)) {
+                    discard(pc);
+                    evictedCount.incrementAndGet();
+                }
+            }
+
+            // Top up to minSize without exceeding maxSize
+            while (!shutdown && idle.size() < minSize && permits.tryAcquire()) {
+                try {
+                    PooledConnection pc = createConnection();
+                    pc.lastReturned = now;
+                    idle.offerLast(pc);
+                } finally {
+                    permits.release();
+                }
+            }
+
+            // Leak detection: report connections held longer than leakDetectionMs
+            if (leakDetectionMs > 0) {
+                for (PooledConnection pc : active) {
+                    if (!pc.leakReported && now - pc.borrowedAt > leakDetectionMs) {
+                        pc.leakReported = true;
+                        System.err.println("[ConnectionPool " + name + "] Possible connection leak: held for "
+                                + (now - pc.borrowedAt) + " ms");
+                        if (pc.borrowSite != null) {
+                            pc.borrowSite.printStackTrace();
+                        }
+                    }
+                }
+            }
+
+            // Leak reclaim: close connections held longer than leakReclaimMs and free their slots
+            if (leakReclaimMs > 0) {
+                for (PooledConnection pc : active) {
+                    if (now - pc.borrowedAt > leakReclaimMs && active.remove(pc)) {
+                        System.err.println("[ConnectionPool " + name + "] Reclaiming connection held for "
+                                + (now - pc.borrowedAt) + " ms");
+                        discard(pc);
+                        reclaimedCount.incrementAndGet();
+                        permits.release();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("[ConnectionPool " + name + "] Failed to top up pool: " + e.getMessage());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public PoolStats getStats() {
+        long[] histogram = new long[waitHistogram.length()];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = waitHistogram.get(i);
+        }
+        return new PoolStats(name, active.size(), idle.size(), waiters.get(), maxSize,
+                borrowCount.get(), timeoutCount.get(), createdCount.get(), evictedCount.get(), reclaimedCount.get(),
+                statementHits.get(), statementMisses.get(), histogram);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowTimeoutMs() {
+        return borrowTimeoutMs;
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            discard(pc);
+        }
+        // Active connections are closed as their borrowers hand them back
+    }
+
+    private static int intSetting(Properties settings, String key, int defaultValue) {
+        String value = settings.getProperty(key);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    private static long longSetting(Properties settings, String key, long defaultValue) {
+        String value = settings.getProperty(key);
+        return value != null ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    /** A physical connection plus the bookkeeping the pool keeps about it. */
+    final class PooledConnection {
+        final Connection physical;
+        volatile long lastReturned = System.currentTimeMillis();
+        volatile long borrowedAt;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+        volatile boolean broken;
+        final StatementCache statements;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = statementCacheSize > 0
+                    ? new StatementCache(physical, statementCacheSize, statementHits, statementMisses)
+                    : null;
+        }
+
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Handle(this));
+        }
+    }
+
+    /** Per-borrow view of a pooled connection; unusable once closed. */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pc;
+        private boolean closed;
+
+        Handle(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pc.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + pc.physical + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection is closed", "08003");
+            }
+            try {
+                if (pc.statements != null && method.getName().equals("prepareStatement")) {
+                    Class<?>[] types = method.getParameterTypes();
+                    if (types.length == 1) {
+                        return pc.statements.prepare((String) args[0], Statement.NO_GENERATED_KEYS);
+                    }
+                    if (types.length == 2 && types[1] == int.class) {
+                        return pc.statements.prepare((String) args[0], (Integer) args[1]);
+                    }
+                }
+                return method.invoke(pc.physical, args);
+            } catch (InvocationTargetException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof SQLException) {
+                    String state = ((SQLException) cause).getSQLState();
+                    // SQLState class 08 = connection exception; never hand this connection out again
+                    if (state != null && state.startsWith("08")) {
+                        pc.broken = true;
+                    }
+                }
+                throw cause;
+            }
+        }
+    }
+}
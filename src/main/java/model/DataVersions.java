@@ -0,0 +1,75 @@
+package model;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counters behind the weak ETags on /viewJobs and /viewApplications.
+ * The DAOs bump the global jobs counter on every job write and the per-user
+ * counter of the applicant and employer on every application write, so a
+ * page's tag changes exactly when something it shows may have changed and an
+ * unchanged page is answered with 304 before any query runs.
+ *
+ * Counters live in this JVM. Tags carry a per-start epoch (so one node never
+ * accepts another's tags) and roll over every etag.maxAgeSeconds, which bounds
+ * how long a write made on another node can go unnoticed, as with JobCache.
+ */
+public final class DataVersions {
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+    private static final long MAX_AGE_MS = AppConfig.getLong("etag.maxAgeSeconds", 60) * 1000;
+    private static final AtomicLong jobs = new AtomicLong();
+    private static final ConcurrentMap<Integer, AtomicLong> users = new ConcurrentHashMap<>();
+
+    private DataVersions() {}
+
+    public static void jobsChanged() {
+        jobs.incrementAndGet();
+    }
+
+    // An application of (or to a job of) these users was added, removed or changed status
+    public static void applicationsChanged(int... userIds) {
+        for (int userId : userIds) {
+            if (userId > 0) {
+                users.computeIfAbsent(userId, k -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+
+    /** The weak ETag for this user's view of the requested page (path and query string included). */
+    public static String etag(HttpServletRequest request, SessionUser user) {
+        AtomicLong userVersion = users.get(user.getUserId());
+        String page = request.getServletPath() + "?" + (request.getQueryString() != null ? request.getQueryString() : "");
+        long bucket = MAX_AGE_MS > 0 ? System.currentTimeMillis() / MAX_AGE_MS : 0;
+        return "W/\"" + EPOCH + "-" + Long.toString(bucket, 36) + "-" + jobs.get()
+                + "-" + (userVersion != null ? userVersion.get() : 0) + "-" + user.getUserId()
+                + "-" + Integer.toHexString(page.hashCode()) + "\"";
+    }
+
+    /**
+     * Sets the ETag and returns true after sending 304 if the client's copy is
+     * current. Call before doing any work for the page.
+     */
+    public static boolean notModified(HttpServletRequest request, HttpServletResponse response, String etag) {
+        response.setHeader("ETag", etag);
+        response.setHeader("Cache-Control", "private, no-cache");
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(opaque)) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return true;
+            }
+        }
+        return false;
+    }
+}
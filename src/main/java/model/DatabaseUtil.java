@@ -1,13 +1,29 @@
 package model;
 
-import java.io.InputStream;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class DatabaseUtil {
     private static final String JDBC_URL;
     private static final String JDBC_USER;
     private static final String JDBC_PASSWORD;
+    private static final long READ_YOUR_WRITES_MS = AppConfig.getLong("jdbc.replica.readYourWritesMs", 5000);
+    private static volatile ConnectionPool pool;
+    private static volatile ReplicaSet replicas;
+    private static volatile boolean replicasInitialized;
+    // Shards after the primary (shard 0); see ShardRouter
+    private static final List<String> SHARD_URLS = urlList("jdbc.shard.urls");
+    // One per shard, shard 0 included, when sharded; these hand out interleaved job and application ids
+    private static volatile ConnectionPool[] shardPools;
+
+    // The user the current request runs for, bound by SessionFilter, and when each user last wrote
+    private static final ThreadLocal<Integer> CURRENT_USER = new ThreadLocal<>();
+    private static final ConcurrentMap<Integer, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private static volatile long lastWrite;
 
     static {
         // Attempt to load from environment variables
@@ -20,29 +36,254 @@ public class DatabaseUtil {
             JDBC_USER = envUser;
             JDBC_PASSWORD = envPassword;
         } else {
-            // Fallback to loading from the external configuration file
-            Properties props = new Properties();
-            try (InputStream input = DatabaseUtil.class.getClassLoader().getResourceAsStream("config.properties")) {
-                if (input == null) {
-                    throw new RuntimeException("Unable to find config.properties");
-                }
-                props.load(input);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to load database configuration", e);
+            // Fallback to the external configuration file
+            JDBC_URL = AppConfig.get("jdbc.url");
+            JDBC_USER = AppConfig.get("jdbc.user");
+            JDBC_PASSWORD = AppConfig.get("jdbc.password");
+            if (JDBC_URL == null) {
+                throw new RuntimeException("Unable to find jdbc.url in config.properties");
             }
-            JDBC_URL = props.getProperty("jdbc.url");
-            JDBC_USER = props.getProperty("jdbc.user");
-            JDBC_PASSWORD = props.getProperty("jdbc.password");
         }
     }
 
+    // Borrows a pooled connection; close() returns it to the pool
     public static Connection getConnection() throws SQLException {
-        try {
-            Class.forName("com.mysql.cj.jdbc.Driver");
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("MySQL JDBC Driver not found", e);
+        return getPool().borrow();
+    }
+
+    /**
+     * A connection for a read-only query: from a healthy replica (round-robin)
+     * when jdbc.replica.urls is set, otherwise from the primary. A user who
+     * wrote within jdbc.replica.readYourWritesMs keeps reading from the primary
+     * so they see their own change. Pass shared=true when the result is cached
+     * for everyone (JobCache); such reads stay on the primary for a window after
+     * any write, so a lagging replica cannot put stale rows into the cache.
+     */
+    public static Connection getReadConnection(boolean shared) throws SQLException {
+        ReplicaSet r = getReplicas();
+        if (r == null || wroteRecently(shared)) {
+            return getConnection();
+        }
+        Connection conn = r.borrow();
+        return conn != null ? conn : getConnection();
+    }
+
+    public static Connection getReadConnection() throws SQLException {
+        return getReadConnection(false);
+    }
+
+    /** Called by the DAOs after a committed write, to start the read-your-writes window. */
+    public static void recordWrite() {
+        long now = System.currentTimeMillis();
+        lastWrite = now;
+        Integer userId = CURRENT_USER.get();
+        if (userId != null) {
+            lastWriteByUser.put(userId, now);
+            if (lastWriteByUser.size() > 10000) {
+                lastWriteByUser.values().removeIf(at -> now - at > READ_YOUR_WRITES_MS);
+            }
+        }
+    }
+
+    /** Binds the user on whose behalf this thread runs queries; null unbinds. */
+    public static void bindUser(Integer userId) {
+        if (userId == null) {
+            CURRENT_USER.remove();
+        } else {
+            CURRENT_USER.set(userId);
+        }
+    }
+
+    public static Integer boundUser() {
+        return CURRENT_USER.get();
+    }
+
+    private static boolean wroteRecently(boolean shared) {
+        long since = System.currentTimeMillis() - READ_YOUR_WRITES_MS;
+        if (shared) {
+            return lastWrite > since;
+        }
+        Integer userId = CURRENT_USER.get();
+        Long at = userId != null ? lastWriteByUser.get(userId) : null;
+        return at != null && at > since;
+    }
+
+    public static int getShardCount() {
+        return SHARD_URLS.size() + 1;
+    }
+
+    /**
+     * A connection to the given shard for writes and reads that must see them;
+     * shard 0 is the primary. Jobs and applications are written through these.
+     * When sharded, shard 0 has a pool of its own on the primary, separate from
+     * getConnection(), so that only job and application ids are interleaved and
+     * user ids stay in plain sequence. The two pools split pool.maxSize (see
+     * primarySplit), so the primary never sees more connections than configured.
+     */
+    public static Connection getShardConnection(int shard) throws SQLException {
+        return getShardCount() == 1 ? getConnection() : getShardPools()[shard].borrow();
+    }
+
+    /** As getReadConnection(shared), for a shard; only the primary has read replicas. */
+    public static Connection getShardReadConnection(int shard, boolean shared) throws SQLException {
+        return shard == 0 ? getReadConnection(shared) : getShardPools()[shard].borrow();
+    }
+
+    private static ConnectionPool[] getShardPools() {
+        ConnectionPool[] p = shardPools;
+        if (p == null) {
+            synchronized (DatabaseUtil.class) {
+                p = shardPools;
+                if (p == null) {
+                    getPool(); // loads the driver
+                    p = new ConnectionPool[getShardCount()];
+                    Properties shardZero = shardPoolSettings(0);
+                    primarySplit(shardZero, true);
+                    p[0] = new ConnectionPool("shard-0", JDBC_URL, JDBC_USER, JDBC_PASSWORD, shardZero);
+                    for (int i = 1; i < p.length; i++) {
+                        p[i] = new ConnectionPool("shard-" + i, SHARD_URLS.get(i - 1),
+                                AppConfig.get("jdbc.shard.user", JDBC_USER),
+                                AppConfig.get("jdbc.shard.password", JDBC_PASSWORD),
+                                shardPoolSettings(i));
+                    }
+                    shardPools = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    /** Stats of every pool this node has opened: the primary, then shards and replicas. */
+    public static List<PoolStats> getPoolStats() {
+        List<PoolStats> stats = new ArrayList<>();
+        stats.add(getPool().getStats());
+        ConnectionPool[] shards = shardPools;
+        if (shards != null) {
+            for (ConnectionPool shardPool : shards) {
+                stats.add(shardPool.getStats());
+            }
+        }
+        ReplicaSet r = getReplicas();
+        if (r != null) {
+            stats.addAll(r.getStats());
+        }
+        return stats;
+    }
+
+    private static ReplicaSet getReplicas() {
+        if (!replicasInitialized) {
+            synchronized (DatabaseUtil.class) {
+                if (!replicasInitialized) {
+                    getPool(); // loads the driver
+                    List<String> urls = urlList("jdbc.replica.urls");
+                    if (!urls.isEmpty()) {
+                        Properties settings = poolSettings();
+                        // Fail fast on a dead replica so reads fall back to the primary quickly
+                        settings.setProperty("driver.connectTimeout", AppConfig.get("jdbc.replica.connectTimeoutMs", "2000"));
+                        replicas = new ReplicaSet(urls,
+                                AppConfig.get("jdbc.replica.user", JDBC_USER),
+                                AppConfig.get("jdbc.replica.password", JDBC_PASSWORD),
+                                settings,
+                                AppConfig.getLong("jdbc.replica.healthCheckMs", 5000),
+                                AppConfig.getLong("jdbc.replica.maxLagSeconds", 30));
+                    }
+                    replicasInitialized = true;
+                }
+            }
+        }
+        return replicas;
+    }
+
+    private static ConnectionPool getPool() {
+        ConnectionPool p = pool;
+        if (p == null) {
+            synchronized (DatabaseUtil.class) {
+                p = pool;
+                if (p == null) {
+                    try {
+                        Class.forName("com.mysql.cj.jdbc.Driver");
+                    } catch (ClassNotFoundException e) {
+                        throw new IllegalStateException("MySQL JDBC Driver not found", e);
+                    }
+                    Properties settings = poolSettings();
+                    primarySplit(settings, false);
+                    p = new ConnectionPool("primary", JDBC_URL, JDBC_USER, JDBC_PASSWORD, settings);
+                    pool = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    private static List<String> urlList(String key) {
+        List<String> urls = new ArrayList<>();
+        for (String url : AppConfig.get(key, "").split(",")) {
+            if (!url.trim().isEmpty()) {
+                urls.add(url.trim());
+            }
+        }
+        return urls;
+    }
+
+    private static Properties poolSettings() {
+        Properties settings = new Properties();
+        for (String key : new String[] { "minSize", "maxSize", "borrowTimeoutMs", "idleTimeoutMs",
+                "leakDetectionMs", "leakReclaimMs", "validationIntervalMs", "validationTimeoutSec", "statementCacheSize" }) {
+            String value = AppConfig.get("pool." + key);
+            if (value != null) settings.setProperty(key, value);
+        }
+        // Server-side prepared statements, so the per-connection statement cache skips MySQL's re-parse
+        settings.setProperty("driver.useServerPrepStmts", AppConfig.get("jdbc.useServerPrepStmts", "true"));
+        // Lets executeBatch() send one multi-row INSERT instead of a round trip per row
+        settings.setProperty("driver.rewriteBatchedStatements", AppConfig.get("jdbc.rewriteBatchedStatements", "true"));
+        return settings;
+    }
+
+    /**
+     * When sharded, the primary's connections are split between the primary
+     * pool and shard 0's pool: shard 0 gets pool.shard0Share of pool.maxSize
+     * and pool.minSize (default half, at least one connection each way), the
+     * primary pool the rest.
+     */
+    static void primarySplit(Properties settings, boolean shardZero) {
+        if (getShardCount() == 1) {
+            return;
+        }
+        double share = Double.parseDouble(AppConfig.get("pool.shard0Share", "0.5"));
+        int max = Integer.parseInt(settings.getProperty("maxSize", "20"));
+        int min = Integer.parseInt(settings.getProperty("minSize", "2"));
+        int shardMax = Math.max(1, Math.min(max - 1, (int) Math.round(max * share)));
+        int shardMin = Math.min(shardMax, (int) Math.round(min * share));
+        int splitMax = shardZero ? shardMax : Math.max(1, max - shardMax);
+        int splitMin = Math.min(splitMax, shardZero ? shardMin : min - shardMin);
+        settings.setProperty("maxSize", String.valueOf(splitMax));
+        settings.setProperty("minSize", String.valueOf(Math.max(0, splitMin)));
+    }
+
+    private static Properties shardPoolSettings(int shard) {
+        Properties settings = poolSettings();
+        // Interleaved auto-increment ids: shard s hands out s+1, s+1+n, s+1+2n, ...
+        settings.setProperty("driver.sessionVariables", "auto_increment_increment=" + getShardCount()
+                + ",auto_increment_offset=" + (shard + 1));
+        return settings;
+    }
+
+    public static synchronized void shutdown() {
+        if (replicas != null) {
+            replicas.shutdown();
+            replicas = null;
+        }
+        replicasInitialized = false;
+        if (shardPools != null) {
+            for (ConnectionPool shardPool : shardPools) {
+                shardPool.shutdown();
+            }
+            shardPools = null;
+        }
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
         }
-        return DriverManager.getConnection(JDBC_URL, JDBC_USER, JDBC_PASSWORD);
     }
 
     public static void close(Connection conn, Statement stmt, ResultSet rs) {
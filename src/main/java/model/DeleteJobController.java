@@ -15,8 +15,7 @@ public class DeleteJobController extends HttpServlet {
 	protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession();
-        User user = (User) session.getAttribute("user");
+        SessionUser user = Sessions.currentUser(request);
         
         // 1. Validate employer role
         if (user == null || !"EMPLOYER".equals(user.getRole())) {
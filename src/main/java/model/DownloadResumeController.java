@@ -4,34 +4,218 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import jakarta.servlet.annotation.*;
 import java.io.*;
+import java.net.URLEncoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
 
+/**
+ * Serves resumes to their applicant and to the employer who received them.
+ * Supports conditional GET (strong ETag / Last-Modified, 304), a single byte
+ * Range (206) and hands the body to Tomcat's sendfile when the connector
+ * offers it, falling back to FileChannel.transferTo.
+ */
 @WebServlet("/downloadResume")
 public class DownloadResumeController extends HttpServlet {
     /**
-	 * 
+	 *
 	 */
 	private static final long serialVersionUID = 1L;
+	private static final String LEGACY_DIR = "resumes";
+	private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
 
 	protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
-        
+
+        SessionUser user = Sessions.currentUser(request);
+        if (user == null) {
+            response.sendRedirect(request.getContextPath() + "/login.jsp");
+            return;
+        }
+
         String resumePath = request.getParameter("path");
-        String fullPath = getServletContext().getRealPath(resumePath);
-        File file = new File(fullPath);
-
-        if (file.exists()) {
-            response.setContentType(getServletContext().getMimeType(fullPath));
-            response.setHeader("Content-Disposition", "attachment; filename=\"" + file.getName() + "\"");
-            try (InputStream in = new FileInputStream(file);
-                 OutputStream out = response.getOutputStream()) {
-                byte[] buffer = new byte[4096];
-                int bytesRead;
-                while ((bytesRead = in.read(buffer)) != -1) {
-                    out.write(buffer, 0, bytesRead);
+        Path file = resolve(resumePath);
+        if (file == null || !Files.isRegularFile(file)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String resumeName;
+        try {
+            resumeName = new ApplicationDAO().getResumeName(resumePath, user.getUserId());
+            if (resumeName == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+        } catch (SQLException e) {
+            throw new ServletException("Database error", e);
+        }
+
+        long length = Files.size(file);
+        long lastModified = Files.getLastModifiedTime(file).toMillis() / 1000 * 1000;
+        // Content-addressed blobs never change, so their hash is a strong validator
+        boolean immutable = ResumeStore.isKey(resumePath);
+        String etag = immutable
+                ? "\"" + ResumeStore.hashOf(resumePath) + "\""
+                : "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("Cache-Control", immutable ? "private, max-age=31536000, immutable" : "private, no-cache");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader("Range");
+        if (range != null && ifRangeMatches(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds == null) {
+                response.setHeader("Content-Range", "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (bounds.length == 2) {
+                start = bounds[0];
+                end = bounds[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        String mimeType = getServletContext().getMimeType(file.getFileName().toString());
+        response.setContentType(mimeType != null ? mimeType : "application/octet-stream");
+        response.setHeader("Content-Disposition",
+                contentDisposition(resumeName.isEmpty() ? file.getFileName().toString() : resumeName));
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file straight from the page cache once this request returns
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end + 1 - position, out);
+                if (sent <= 0) break;
+                position += sent;
+            }
+        }
+    }
+
+    // Resume store keys, or legacy paths confined to the webapp's resumes directory
+    private Path resolve(String resumePath) {
+        if (resumePath == null) {
+            return null;
+        }
+        if (ResumeStore.isKey(resumePath)) {
+            return ResumeStore.getInstance().resolve(resumePath);
+        }
+        String legacyRoot = getServletContext().getRealPath(LEGACY_DIR);
+        if (legacyRoot == null || !resumePath.startsWith(LEGACY_DIR + "/")) {
+            return null;
+        }
+        Path root = Paths.get(legacyRoot).toAbsolutePath().normalize();
+        Path file = root.resolve(resumePath.substring(LEGACY_DIR.length() + 1)).normalize();
+        return file.startsWith(root) && !file.equals(root) ? file : null;
+    }
+
+    // An ASCII filename for old clients plus the exact name as RFC 5987 filename*
+    private static String contentDisposition(String fileName) {
+        StringBuilder ascii = new StringBuilder();
+        for (char c : fileName.toCharArray()) {
+            ascii.append(c >= 0x20 && c < 0x7f && c != '"' && c != '\\' ? c : '_');
+        }
+        String encoded = URLEncoder.encode(fileName, StandardCharsets.UTF_8).replace("+", "%20");
+        return "attachment; filename=\"" + ascii + "\"; filename*=UTF-8''" + encoded;
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2); // weak comparison is fine for GET
+                }
+                if (tag.equals("*") || tag.equals(etag)) {
+                    return true;
                 }
             }
-        } else {
-            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return false; // If-None-Match takes precedence over If-Modified-Since
+        }
+        long ifModifiedSince = dateHeader(request, "If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    // A Range is only honoured if If-Range (when present) still names this version
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        return dateHeader(request, "If-Range") == lastModified;
+    }
+
+    /**
+     * Parses a single "bytes=" range. Returns {start, end}, an empty array to
+     * ignore the header and send everything (multiple ranges, other units,
+     * bad syntax), or null when the range cannot be satisfied.
+     */
+    private static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            long start;
+            long end;
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix <= 0) return null;
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(spec.substring(0, dash));
+                String last = spec.substring(dash + 1);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+                if (end < start) return new long[0];
+            }
+            return start >= length ? null : new long[] {start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
         }
     }
-}
\ No newline at end of file
+}
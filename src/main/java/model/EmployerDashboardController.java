@@ -6,20 +6,18 @@ import jakarta.servlet.annotation.*;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
-import java.util.stream.Collectors;
 
-@WebServlet("/employerDashboard")
-public class EmployerDashboardController extends HttpServlet {
+@WebServlet(value = "/employerDashboard", asyncSupported = true)
+public class EmployerDashboardController extends AsyncDbServlet {
     /**
 	 * 
 	 */
 	private static final long serialVersionUID = 1L;
 
-	protected void doGet(HttpServletRequest request, HttpServletResponse response)
+	protected void handleGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession();
-        User user = (User) session.getAttribute("user");
+        SessionUser user = Sessions.currentUser(request);
         
         if (user == null || !user.getRole().equals("EMPLOYER")) {
             response.sendRedirect("login.jsp");
@@ -27,14 +25,23 @@ public class EmployerDashboardController extends HttpServlet {
         }
 
         try {
-            List<Application> pendingApplications = new ApplicationDAO()
-                .getApplicationsByEmployer(user.getUserId())
-                .stream()
-                .filter(app -> "PENDING".equals(app.getStatus()))
-                .collect(Collectors.toList());
-            
-            request.setAttribute("pendingApplications", pendingApplications);
-            request.getRequestDispatcher("/employerDashboard.jsp").forward(request, response);
+            ApplicationDAO appDAO = new ApplicationDAO();
+            PageRequest pageRequest = PageRequest.fromRequest(request);
+            // Only one page of PENDING rows is fetched; per-job pending counts come from a GROUP BY
+            // that reads only PENDING index entries
+            Page<Application> page = appDAO.getApplicationsByEmployer(user.getUserId(), "PENDING", pageRequest);
+            List<ApplicationSummary> summaries = appDAO.getApplicationSummaries(user.getUserId(), "PENDING");
+            int pendingCount = 0;
+            for (ApplicationSummary summary : summaries) {
+                pendingCount += summary.getPending();
+            }
+
+            request.setAttribute("pendingApplications", page.getItems());
+            request.setAttribute("pendingCount", pendingCount);
+            request.setAttribute("applicationSummaries", summaries);
+            request.setAttribute("resultPage", page);
+            request.setAttribute("pageRequest", pageRequest);
+            forward(request, response, "/employerDashboard.jsp");
             
         } catch (SQLException e) {
             throw new ServletException("Database error", e);
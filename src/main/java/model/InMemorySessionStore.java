@@ -0,0 +1,57 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/** Sessions held in this JVM; fine for one node or sticky load balancing. */
+public class InMemorySessionStore implements SessionStore {
+    private final ConcurrentMap<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final long timeoutMs;
+
+    public InMemorySessionStore(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public String create(SessionUser user) {
+        String token = Sessions.newToken();
+        sessions.put(token, new Entry(user, System.currentTimeMillis() + timeoutMs));
+        return token;
+    }
+
+    @Override
+    public SessionUser get(String token) {
+        Entry entry = sessions.get(token);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (entry.expiresAt < now) {
+            sessions.remove(token, entry);
+            return null;
+        }
+        entry.expiresAt = now + timeoutMs;
+        return entry.user;
+    }
+
+    @Override
+    public void delete(String token) {
+        sessions.remove(token);
+    }
+
+    @Override
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(entry -> entry.expiresAt < now);
+    }
+
+    private static final class Entry {
+        final SessionUser user;
+        volatile long expiresAt;
+
+        Entry(SessionUser user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
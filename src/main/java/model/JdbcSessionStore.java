@@ -0,0 +1,106 @@
+package model;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.Base64;
+
+/**
+ * Sessions in the sessions table, shared by every node on the same database.
+ * Only a SHA-256 of each token is stored, so a copy of the table cannot be
+ * replayed as cookies. The idle timeout is pushed out at most once a minute
+ * per session rather than written on every request.
+ */
+public class JdbcSessionStore implements SessionStore {
+    private static final long TOUCH_INTERVAL_MS = 60_000;
+
+    private final long timeoutMs;
+
+    public JdbcSessionStore(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public String create(SessionUser user) throws SessionStoreException {
+        String token = Sessions.newToken();
+        String sql = "INSERT INTO sessions (token_hash, user_id, role, name, expires_at) VALUES (?, ?, ?, ?, ?)";
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, hash(token));
+            stmt.setInt(2, user.getUserId());
+            stmt.setString(3, user.getRole());
+            stmt.setString(4, user.getName());
+            stmt.setLong(5, System.currentTimeMillis() + timeoutMs);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new SessionStoreException("Could not create session", e);
+        }
+        return token;
+    }
+
+    @Override
+    public SessionUser get(String token) throws SessionStoreException {
+        String tokenHash = hash(token);
+        String sql = "SELECT user_id, role, name, expires_at FROM sessions WHERE token_hash = ?";
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, tokenHash);
+            SessionUser user;
+            long expiresAt;
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    return null;
+                }
+                user = new SessionUser(rs.getInt(1), rs.getString(2), rs.getString(3));
+                expiresAt = rs.getLong(4);
+            }
+            long now = System.currentTimeMillis();
+            if (expiresAt < now) {
+                return null;
+            }
+            if (expiresAt - now < timeoutMs - TOUCH_INTERVAL_MS) {
+                try (PreparedStatement touch = conn.prepareStatement(
+                        "UPDATE sessions SET expires_at = ? WHERE token_hash = ?")) {
+                    touch.setLong(1, now + timeoutMs);
+                    touch.setString(2, tokenHash);
+                    touch.executeUpdate();
+                }
+            }
+            return user;
+        } catch (SQLException e) {
+            throw new SessionStoreException("Could not read session", e);
+        }
+    }
+
+    @Override
+    public void delete(String token) throws SessionStoreException {
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM sessions WHERE token_hash = ?")) {
+            stmt.setString(1, hash(token));
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new SessionStoreException("Could not delete session", e);
+        }
+    }
+
+    @Override
+    public void purgeExpired() throws SessionStoreException {
+        try (Connection conn = DatabaseUtil.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM sessions WHERE expires_at < ?")) {
+            stmt.setLong(1, System.currentTimeMillis());
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            throw new SessionStoreException("Could not purge sessions", e);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Bounded in-process cache in front of JobDAO reads: jobs by id, per-employer
+ * listings and the all-jobs listing. JobDAO and ApplicationDAO invalidate the
+ * affected entries on every write; the TTL only bounds staleness from writes
+ * made by other nodes. Jobs are copied on the way in and out, so a caller
+ * that changes what it got back never changes the cached entry.
+ */
+public class JobCache {
+    private static final JobCache INSTANCE = new JobCache(
+            AppConfig.getBoolean("jobCache.enabled", true),
+            AppConfig.getInt("jobCache.maxJobs", 10000),
+            AppConfig.getInt("jobCache.maxListings", 1000),
+            AppConfig.getLong("jobCache.ttlSeconds", 60) * 1000);
+
+    private final boolean enabled;
+    private final long ttlMs;
+    private final Region<Integer, Job> jobs;
+    private final Region<Integer, List<Job>> employerJobs;
+    private final Region<String, Page<Job>> employerPages;
+    private final Region<String, List<Job>> allJobs;
+    // Bumped on every invalidation; a load that overlapped a write must not be cached
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    JobCache(boolean enabled, int maxJobs, int maxListings, long ttlMs) {
+        this.enabled = enabled;
+        this.ttlMs = ttlMs;
+        this.jobs = new Region<>(maxJobs);
+        this.employerJobs = new Region<>(maxListings);
+        this.employerPages = new Region<>(maxListings);
+        this.allJobs = new Region<>(1);
+    }
+
+    public static JobCache getInstance() {
+        return INSTANCE;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    long generation() {
+        return generation.get();
+    }
+
+    // --- reads ---
+
+    Job getJob(int jobId) {
+        Job job = record(jobs.get(jobId));
+        return job != null ? copy(job) : null;
+    }
+
+    List<Job> getEmployerJobs(int employerId) {
+        List<Job> list = record(employerJobs.get(employerId));
+        return list != null ? copyAll(list) : null;
+    }
+
+    Page<Job> getEmployerPage(int employerId, PageRequest page) {
+        Page<Job> cached = record(employerPages.get(pageKey(employerId, page)));
+        return cached != null ? copy(cached) : null;
+    }
+
+    List<Job> getAllJobs() {
+        List<Job> list = record(allJobs.get(""));
+        return list != null ? copyAll(list) : null;
+    }
+
+    // --- read-through fills; dropped if a write happened since the load started ---
+
+    synchronized void putJob(Job job, long loadedAt) {
+        if (job != null && generation.get() == loadedAt) {
+            jobs.put(job.getJobId(), copy(job));
+        }
+    }
+
+    synchronized List<Job> putEmployerJobs(int employerId, List<Job> list, long loadedAt) {
+        if (generation.get() == loadedAt) {
+            employerJobs.put(employerId, copyAll(list));
+        }
+        return list;
+    }
+
+    synchronized void putEmployerPage(int employerId, PageRequest page, Page<Job> result, long loadedAt) {
+        if (generation.get() == loadedAt) {
+            employerPages.put(pageKey(employerId, page), copy(result));
+        }
+    }
+
+    synchronized List<Job> putAllJobs(List<Job> list, long loadedAt) {
+        if (generation.get() == loadedAt) {
+            allJobs.put("", copyAll(list));
+        }
+        return list;
+    }
+
+    // --- invalidation ---
+
+    // A job was added, changed or removed; employerId <= 0 means the owner is unknown
+    synchronized void invalidateJob(int jobId, int employerId) {
+        generation.incrementAndGet();
+        Job cached = jobs.remove(jobId);
+        if (employerId <= 0 && cached != null) {
+            employerId = cached.getEmployerId();
+        }
+        if (employerId > 0) {
+            invalidateEmployer(employerId);
+        } else {
+            employerJobs.clear();
+            employerPages.clear();
+        }
+        allJobs.clear();
+    }
+
+    synchronized void invalidateEmployer(int employerId) {
+        generation.incrementAndGet();
+        employerJobs.remove(employerId);
+        employerPages.removeIf(key -> key.startsWith(employerId + "|"));
+        allJobs.clear();
+    }
+
+    public synchronized void clear() {
+        generation.incrementAndGet();
+        jobs.clear();
+        employerJobs.clear();
+        employerPages.clear();
+        allJobs.clear();
+    }
+
+    // --- metrics ---
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+
+    public double getHitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    public int getSize() {
+        return jobs.size() + employerJobs.size() + employerPages.size() + allJobs.size();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("JobCache[size=%d, hits=%d, misses=%d, evictions=%d, hitRatio=%.3f]",
+                getSize(), getHits(), getMisses(), getEvictions(), getHitRatio());
+    }
+
+    private <T> T record(T value) {
+        if (value != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        return value;
+    }
+
+    private static String pageKey(int employerId, PageRequest page) {
+        return employerId + "|" + page.sortQuery() + "|" + page.getAfterId() + "|" + page.getAfterValue();
+    }
+
+    private static Job copy(Job job) {
+        Job c = new Job(job.getTitle(), job.getDescription(), job.getLocation(), job.getSalary(), job.getEmployerId());
+        c.setJobId(job.getJobId());
+        return c;
+    }
+
+    private static List<Job> copyAll(List<Job> list) {
+        List<Job> copies = new ArrayList<>(list.size());
+        for (Job job : list) {
+            copies.add(copy(job));
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    private static Page<Job> copy(Page<Job> page) {
+        return new Page<>(copyAll(page.getItems()), page.hasNext(), page.getNextAfterId(), page.getNextAfterValue());
+    }
+
+    /** Access-ordered LRU map with a per-entry TTL. */
+    private final class Region<K, V> {
+        private final int maxSize;
+        private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        Region(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        synchronized V get(K key) {
+            Entry<V> entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt < System.currentTimeMillis()) {
+                map.remove(key);
+                evictions.incrementAndGet();
+                return null;
+            }
+            return entry.value;
+        }
+
+        synchronized void put(K key, V value) {
+            if (!enabled || maxSize <= 0) {
+                return;
+            }
+            map.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMs));
+            Iterator<Entry<V>> it = map.values().iterator();
+            while (map.size() > maxSize && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+
+        synchronized V remove(K key) {
+            Entry<V> entry = map.remove(key);
+            return entry != null ? entry.value : null;
+        }
+
+        synchronized void removeIf(Predicate<K> matches) {
+            map.keySet().removeIf(matches);
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package model;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The jobs written on any node since the previous poll: rows whose
+ * jobs.updated_at moved, and the ids in job_deletions. Each shard has its own
+ * cursor, read from that shard's clock. The periodic search index refresh uses
+ * it to pick up other nodes' writes without reading the whole jobs table.
+ *
+ * updated_at is set when the statement runs, but the row only becomes visible
+ * when its transaction commits (and, on a replica, once it has replicated), so
+ * every poll looks back OVERLAP_MS before the cursor. Rows inside that window
+ * are returned again; applying a job twice is harmless.
+ */
+public class JobChangeFeed {
+    static final long OVERLAP_MS = 60_000;
+
+    private final Timestamp[] cursors;
+
+    private JobChangeFeed(Timestamp[] cursors) {
+        this.cursors = cursors;
+    }
+
+    /** Starts the feed at each shard's current time; call before the full load it follows. */
+    public static JobChangeFeed start() throws SQLException {
+        Timestamp[] cursors = new Timestamp[DatabaseUtil.getShardCount()];
+        for (int shard = 0; shard < cursors.length; shard++) {
+            try (Connection conn = DatabaseUtil.getShardReadConnection(shard, true)) {
+                cursors[shard] = JobDAO.shardClock(conn);
+            }
+        }
+        return new JobChangeFeed(cursors);
+    }
+
+    /** The changes since the last poll (or since start()); advances the cursors. */
+    public Changes poll() throws SQLException {
+        List<Job> changed = new ArrayList<>();
+        Set<Integer> removed = new LinkedHashSet<>();
+        for (int shard = 0; shard < cursors.length; shard++) {
+            try (Connection conn = DatabaseUtil.getShardReadConnection(shard, true)) {
+                Timestamp now = JobDAO.shardClock(conn);
+                Timestamp since = new Timestamp(cursors[shard].getTime() - OVERLAP_MS);
+                changed.addAll(JobDAO.getJobsChangedSince(conn, since));
+                removed.addAll(JobDAO.getJobsDeletedSince(conn, since));
+                cursors[shard] = now;
+            }
+        }
+        return new Changes(changed, removed);
+    }
+
+    public static final class Changes {
+        private final List<Job> changed;
+        private final Set<Integer> removed;
+
+        Changes(List<Job> changed, Set<Integer> removed) {
+            this.changed = Collections.unmodifiableList(changed);
+            this.removed = Collections.unmodifiableSet(removed);
+        }
+
+        /** Jobs added or updated, as they are now. */
+        public List<Job> getChanged() { return changed; }
+        /** Ids of jobs deleted. */
+        public Set<Integer> getRemoved() { return removed; }
+
+        public boolean isEmpty() {
+            return changed.isEmpty() && removed.isEmpty();
+        }
+    }
+}
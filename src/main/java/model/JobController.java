@@ -14,8 +14,7 @@ public class JobController extends HttpServlet {
 
 	protected void doPost(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
-        HttpSession session = request.getSession();
-        User user = (User) session.getAttribute("user");
+        SessionUser user = Sessions.currentUser(request);
         
         if (user == null || !user.getRole().equals("EMPLOYER")) {
             response.sendRedirect("login.jsp");
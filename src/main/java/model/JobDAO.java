@@ -2,13 +2,34 @@
 package model;
 
 import java.sql.*;
+import java.text.Collator;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 public class JobDAO {
+    private static final JobCache CACHE = JobCache.getInstance();
+    private static final JobSearchIndex SEARCH = JobSearchIndex.getInstance();
+    private static final RecommendationEngine RECOMMENDATIONS = RecommendationEngine.getInstance();
+    private static final String JOB_COLUMNS = "j.job_id, j.title, j.description, j.location, j.salary, j.employer_id";
+
+    // Job ids are auto-increment, so ordering by id is ordering by posting date
+    private static final Map<PageRequest.SortKey, String> SORT_COLUMNS = new EnumMap<>(PageRequest.SortKey.class);
+    static {
+        SORT_COLUMNS.put(PageRequest.SortKey.SALARY, "j.salary");
+        SORT_COLUMNS.put(PageRequest.SortKey.DATE, "j.job_id");
+        SORT_COLUMNS.put(PageRequest.SortKey.TITLE, "j.title");
+    }
+
     public void addJob(Job job) throws SQLException {
         String sql = "INSERT INTO jobs (title, description, location, salary, employer_id) VALUES (?, ?, ?, ?, ?)";
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getShardConnection(ShardRouter.shardForEmployer(job.getEmployerId()));
              PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, job.getTitle());
             stmt.setString(2, job.getDescription());
@@ -23,17 +44,111 @@ public class JobDAO {
                 }
             }
         }
+        DatabaseUtil.recordWrite();
+        CACHE.invalidateEmployer(job.getEmployerId());
+        SEARCH.index(job);
+        RECOMMENDATIONS.jobChanged(job);
+        DataVersions.jobsChanged();
+    }
+
+    /**
+     * Inserts jobs with JDBC batching, one transaction per chunk of batchSize rows.
+     * Generated ids are set on the inserted jobs. A failing chunk is rolled back and
+     * its jobs keep id 0; the returned map holds each failure keyed by the index of
+     * the chunk's first job, so callers can report or retry those rows. Chunks
+     * never mix shards; with several employers on different shards, each
+     * shard's jobs are chunked separately.
+     */
+    public Map<Integer, SQLException> addJobs(List<Job> jobs, int batchSize) throws SQLException {
+        Map<Integer, SQLException> failures = new LinkedHashMap<>();
+        if (jobs.isEmpty()) {
+            return failures;
+        }
+        Map<Integer, List<Integer>> indexesByShard = new LinkedHashMap<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            indexesByShard.computeIfAbsent(ShardRouter.shardForEmployer(jobs.get(i).getEmployerId()),
+                    k -> new ArrayList<>()).add(i);
+        }
+        try {
+            for (Map.Entry<Integer, List<Integer>> shard : indexesByShard.entrySet()) {
+                insertChunks(shard.getKey(), jobs, shard.getValue(), Math.max(1, batchSize), failures);
+            }
+        } finally {
+            DatabaseUtil.recordWrite();
+            Set<Integer> employers = new LinkedHashSet<>();
+            for (Job job : jobs) {
+                employers.add(job.getEmployerId());
+                SEARCH.index(job); // skips rolled-back jobs, whose id is 0
+                RECOMMENDATIONS.jobChanged(job);
+            }
+            for (int employerId : employers) {
+                CACHE.invalidateEmployer(employerId);
+            }
+            DataVersions.jobsChanged();
+        }
+        return failures;
+    }
+
+    private void insertChunks(int shard, List<Job> jobs, List<Integer> indexes, int chunkSize,
+                              Map<Integer, SQLException> failures) throws SQLException {
+        String sql = "INSERT INTO jobs (title, description, location, salary, employer_id) VALUES (?, ?, ?, ?, ?)";
+        try (Connection conn = DatabaseUtil.getShardConnection(shard);
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            conn.setAutoCommit(false);
+            for (int start = 0; start < indexes.size(); start += chunkSize) {
+                List<Integer> chunk = indexes.subList(start, Math.min(start + chunkSize, indexes.size()));
+                try {
+                    for (int index : chunk) {
+                        Job job = jobs.get(index);
+                        stmt.setString(1, job.getTitle());
+                        stmt.setString(2, job.getDescription());
+                        stmt.setString(3, job.getLocation());
+                        stmt.setDouble(4, job.getSalary());
+                        stmt.setInt(5, job.getEmployerId());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                        for (int index : chunk) {
+                            if (!rs.next()) break;
+                            jobs.get(index).setJobId(rs.getInt(1));
+                        }
+                    }
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    stmt.clearBatch();
+                    for (int index : chunk) {
+                        jobs.get(index).setJobId(0);
+                    }
+                    failures.put(chunk.get(0), e);
+                }
+            }
+        }
     }
 
     public List<Job> getJobsByEmployer(int employerId) throws SQLException {
+        if (CACHE.isEnabled()) {
+            List<Job> cached = CACHE.getEmployerJobs(employerId);
+            if (cached != null) {
+                return cached;
+            }
+            long generation = CACHE.generation();
+            return CACHE.putEmployerJobs(employerId, loadJobsByEmployer(employerId), generation);
+        }
+        return loadJobsByEmployer(employerId);
+    }
+
+    private List<Job> loadJobsByEmployer(int employerId) throws SQLException {
         List<Job> jobs = new ArrayList<>();
-        String sql = "SELECT * FROM jobs WHERE employer_id = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        String sql = "SELECT " + JOB_COLUMNS + " FROM jobs j WHERE j.employer_id = ?";
+        try (Connection conn = DatabaseUtil.getShardReadConnection(ShardRouter.shardForEmployer(employerId), CACHE.isEnabled());
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, employerId);
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Job> mapper = jobMapper(rs);
                 while (rs.next()) {
-                    jobs.add(mapJob(rs));
+                    jobs.add(mapper.mapRow(rs));
                 }
             }
         }
@@ -41,26 +156,159 @@ public class JobDAO {
     }
 
     public List<Job> getAllJobs() throws SQLException {
+        if (CACHE.isEnabled()) {
+            List<Job> cached = CACHE.getAllJobs();
+            if (cached != null) {
+                return cached;
+            }
+            long generation = CACHE.generation();
+            return CACHE.putAllJobs(loadAllJobs(), generation);
+        }
+        return loadAllJobs();
+    }
+
+    private List<Job> loadAllJobs() throws SQLException {
+        String sql = "SELECT " + JOB_COLUMNS + " FROM jobs j";
+        return ShardRouter.fanOutAll(shard -> {
+            List<Job> jobs = new ArrayList<>();
+            try (Connection conn = DatabaseUtil.getShardReadConnection(shard, CACHE.isEnabled());
+                 PreparedStatement stmt = conn.prepareStatement(sql);
+                 ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Job> mapper = jobMapper(rs);
+                while (rs.next()) {
+                    jobs.add(mapper.mapRow(rs));
+                }
+            }
+            return jobs;
+        });
+    }
+
+    // Jobs the applicant has not applied to yet, filtered in SQL instead of in memory
+    // (applications live on their job's shard, so the NOT EXISTS holds per shard)
+    public List<Job> getOpenJobsForApplicant(int applicantId) throws SQLException {
+        String sql = "SELECT " + JOB_COLUMNS + " FROM jobs j "
+                   + "WHERE NOT EXISTS (SELECT 1 FROM applications a "
+                   + "WHERE a.job_id = j.job_id AND a.applicant_id = ?)";
+        return ShardRouter.fanOutAll(shard -> {
+            List<Job> jobs = new ArrayList<>();
+            try (Connection conn = DatabaseUtil.getShardReadConnection(shard, false);
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, applicantId);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    RowMapper<Job> mapper = jobMapper(rs);
+                    while (rs.next()) {
+                        jobs.add(mapper.mapRow(rs));
+                    }
+                }
+            }
+            return jobs;
+        });
+    }
+
+    public Page<Job> getJobs(PageRequest page) throws SQLException {
+        return getJobPageAllShards("SELECT " + JOB_COLUMNS + " FROM jobs j", null, page);
+    }
+
+    public Page<Job> getJobsByEmployer(int employerId, PageRequest page) throws SQLException {
+        if (CACHE.isEnabled()) {
+            Page<Job> cached = CACHE.getEmployerPage(employerId, page);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long generation = CACHE.generation();
+        List<Job> rows = getJobPageRows(ShardRouter.shardForEmployer(employerId),
+                "SELECT " + JOB_COLUMNS + " FROM jobs j WHERE j.employer_id = ?", employerId, page, CACHE.isEnabled());
+        Page<Job> result = toPage(rows, page);
+        CACHE.putEmployerPage(employerId, page, result, generation);
+        return result;
+    }
+
+    public Page<Job> getOpenJobsForApplicant(int applicantId, PageRequest page) throws SQLException {
+        return getJobPageAllShards("SELECT " + JOB_COLUMNS + " FROM jobs j "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM applications a "
+                        + "WHERE a.job_id = j.job_id AND a.applicant_id = ?)", applicantId, page);
+    }
+
+    // The same keyset query on every shard; the merged rows are cut back to one page
+    private Page<Job> getJobPageAllShards(String baseSql, Integer param, PageRequest page) throws SQLException {
+        List<List<Job>> perShard = ShardRouter.fanOut(shard -> getJobPageRows(shard, baseSql, param, page, false));
+        return toPage(page.merge(perShard, jobOrder(page.getSortKey()), Job::getJobId), page);
+    }
+
+    private static Page<Job> toPage(List<Job> rows, PageRequest page) {
+        return Page.of(rows, page.getPageSize(), Job::getJobId, job -> sortValue(job, page.getSortKey()));
+    }
+
+    // cached: the page goes into JobCache, see DatabaseUtil.getReadConnection(boolean)
+    private List<Job> getJobPageRows(int shard, String baseSql, Integer param, PageRequest page, boolean cached)
+            throws SQLException {
+        StringBuilder sql = new StringBuilder(baseSql);
+        page.appendKeyset(sql, SORT_COLUMNS, "j.job_id", param != null);
         List<Job> jobs = new ArrayList<>();
-        String sql = "SELECT * FROM jobs";
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            while (rs.next()) {
-                jobs.add(mapJob(rs));
+        try (Connection conn = DatabaseUtil.getShardReadConnection(shard, cached);
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            if (param != null) {
+                stmt.setInt(index++, param);
+            }
+            page.bindKeyset(stmt, index, SORT_COLUMNS, "j.job_id");
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Job> mapper = jobMapper(rs);
+                while (rs.next()) {
+                    jobs.add(mapper.mapRow(rs));
+                }
             }
         }
         return jobs;
     }
 
+    // Java-side equivalent of the ORDER BY that appendKeyset writes (before the id tie-break)
+    private static Comparator<Job> jobOrder(PageRequest.SortKey sortKey) {
+        switch (sortKey) {
+            case SALARY: return Comparator.comparingDouble(Job::getSalary);
+            case TITLE: return Comparator.comparing(Job::getTitle, titleOrder());
+            default: return (a, b) -> 0;
+        }
+    }
+
+    // jobs.title uses the server's default utf8mb4 collation, which ignores case and accents;
+    // a primary-strength root collator orders titles the same way, equal ones falling to the id
+    static Comparator<String> titleOrder() {
+        Collator collator = Collator.getInstance(Locale.ROOT);
+        collator.setStrength(Collator.PRIMARY);
+        return collator::compare;
+    }
+
+    private static String sortValue(Job job, PageRequest.SortKey sortKey) {
+        switch (sortKey) {
+            case SALARY: return String.valueOf(job.getSalary());
+            case TITLE: return job.getTitle();
+            default: return String.valueOf(job.getJobId());
+        }
+    }
+
     public Job getJobById(int jobId) throws SQLException {
-        String sql = "SELECT * FROM jobs WHERE job_id = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        if (CACHE.isEnabled()) {
+            Job cached = CACHE.getJob(jobId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long generation = CACHE.generation();
+        Job job = loadJobById(jobId);
+        CACHE.putJob(job, generation);
+        return job;
+    }
+
+    private Job loadJobById(int jobId) throws SQLException {
+        String sql = "SELECT " + JOB_COLUMNS + " FROM jobs j WHERE j.job_id = ?";
+        try (Connection conn = DatabaseUtil.getShardReadConnection(ShardRouter.shardForId(jobId), CACHE.isEnabled());
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, jobId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapJob(rs);
+                    return jobMapper(rs).mapRow(rs);
                 }
             }
         }
@@ -69,7 +317,7 @@ public class JobDAO {
 
     public void updateJob(Job job) throws SQLException {
         String sql = "UPDATE jobs SET title = ?, description = ?, location = ?, salary = ? WHERE job_id = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        try (Connection conn = DatabaseUtil.getShardConnection(ShardRouter.shardForJob(job));
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, job.getTitle());
             stmt.setString(2, job.getDescription());
@@ -78,25 +326,115 @@ public class JobDAO {
             stmt.setInt(5, job.getJobId());
             stmt.executeUpdate();
         }
+        DatabaseUtil.recordWrite();
+        CACHE.invalidateJob(job.getJobId(), job.getEmployerId());
+        SEARCH.index(job);
+        RECOMMENDATIONS.jobChanged(job);
+        DataVersions.jobsChanged();
     }
 
     public void deleteJob(int jobId) throws SQLException {
         String sql = "DELETE FROM jobs WHERE job_id = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = DatabaseUtil.getShardConnection(ShardRouter.shardForId(jobId))) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, jobId);
+                if (stmt.executeUpdate() > 0) {
+                    recordDeletion(conn, jobId);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        DatabaseUtil.recordWrite();
+        CACHE.invalidateJob(jobId, 0);
+        SEARCH.remove(jobId);
+        RECOMMENDATIONS.jobRemoved(jobId);
+        DataVersions.jobsChanged();
+    }
+
+    // Leaves a tombstone for JobChangeFeed, in the transaction that deletes the job
+    static void recordDeletion(Connection conn, int jobId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO job_deletions (job_id) VALUES (?) "
+                + "ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP(3)")) {
             stmt.setInt(1, jobId);
             stmt.executeUpdate();
         }
     }
 
-    private Job mapJob(ResultSet rs) throws SQLException {
-        Job job = new Job();
-        job.setJobId(rs.getInt("job_id"));
-        job.setTitle(rs.getString("title"));
-        job.setDescription(rs.getString("description"));
-        job.setLocation(rs.getString("location"));
-        job.setSalary(rs.getDouble("salary"));
-        job.setEmployerId(rs.getInt("employer_id"));
-        return job;
+    // --- change feed; see JobChangeFeed ---
+
+    // The shard's current time, which updated_at and deleted_at are compared against
+    static Timestamp shardClock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT CURRENT_TIMESTAMP(3)");
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getTimestamp(1);
+        }
+    }
+
+    // Jobs inserted or updated at or after since; a range scan of idx_jobs_updated_at
+    static List<Job> getJobsChangedSince(Connection conn, Timestamp since) throws SQLException {
+        String sql = "SELECT " + JOB_COLUMNS + " FROM jobs j WHERE j.updated_at >= ?";
+        List<Job> jobs = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setTimestamp(1, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<Job> mapper = jobMapper(rs);
+                while (rs.next()) {
+                    jobs.add(mapper.mapRow(rs));
+                }
+            }
+        }
+        return jobs;
+    }
+
+    static List<Integer> getJobsDeletedSince(Connection conn, Timestamp since) throws SQLException {
+        List<Integer> jobIds = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT job_id FROM job_deletions WHERE deleted_at >= ?")) {
+            stmt.setTimestamp(1, since);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    jobIds.add(rs.getInt(1));
+                }
+            }
+        }
+        return jobIds;
+    }
+
+    // Drops tombstones older than every node's look-back; returns how many were removed
+    public int purgeDeletions(long olderThanMs) throws SQLException {
+        String sql = "DELETE FROM job_deletions WHERE deleted_at < CURRENT_TIMESTAMP(3) - INTERVAL ? SECOND";
+        int removed = 0;
+        for (int shard = 0; shard < DatabaseUtil.getShardCount(); shard++) {
+            try (Connection conn = DatabaseUtil.getShardConnection(shard);
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setLong(1, olderThanMs / 1000);
+                removed += stmt.executeUpdate();
+            }
+        }
+        return removed;
+    }
+
+    static RowMapper<Job> jobMapper(ResultSet rs) throws SQLException {
+        ResultColumns cols = ResultColumns.of(rs);
+        int jobId = cols.require("job_id");
+        int title = cols.require("title");
+        int description = cols.require("description");
+        int location = cols.require("location");
+        int salary = cols.require("salary");
+        int employerId = cols.require("employer_id");
+        return row -> {
+            Job job = new Job();
+            job.setJobId(row.getInt(jobId));
+            job.setTitle(row.getString(title));
+            job.setDescription(row.getString(description));
+            job.setLocation(row.getString(location));
+            job.setSalary(row.getDouble(salary));
+            job.setEmployerId(row.getInt(employerId));
+            return job;
+        };
     }
 }
\ No newline at end of file
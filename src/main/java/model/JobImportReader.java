@@ -0,0 +1,256 @@
+package model;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams rows out of an uploaded job file one at a time, so an import never
+ * holds the whole file in memory. Supports CSV with a header row (RFC 4180
+ * quoting) and JSON: either an array of flat objects or one object per line.
+ */
+public class JobImportReader implements AutoCloseable {
+    public enum Format { CSV, JSON }
+
+    private final PushbackReader in;
+    private final Format format;
+    private List<String> header;
+    private int rowNumber;
+    private boolean jsonStarted;
+    private boolean jsonArray;
+    private boolean bomChecked;
+
+    public JobImportReader(Reader reader, Format format) {
+        this.in = new PushbackReader(reader, 2);
+        this.format = format;
+    }
+
+    // Picks the format from the file name, falling back to CSV
+    public static Format detectFormat(String fileName, String contentType) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".json") || name.endsWith(".ndjson") || type.contains("json")) {
+            return Format.JSON;
+        }
+        return Format.CSV;
+    }
+
+    // 1-based number of the row last returned by next() (data rows only for CSV)
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /** Returns the next row as lower-cased field name to value, or null at end of input. */
+    public Map<String, String> next() throws IOException {
+        if (!bomChecked) {
+            bomChecked = true;
+            int c = in.read();
+            if (c != '\uFEFF' && c != -1) in.unread(c);
+        }
+        return format == Format.CSV ? nextCsvRow() : nextJsonObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ---------------------------------------------------------------- CSV
+
+    private Map<String, String> nextCsvRow() throws IOException {
+        if (header == null) {
+            List<String> names = readCsvRecord();
+            if (names == null) {
+                return null;
+            }
+            header = new ArrayList<>();
+            for (String name : names) {
+                header.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        List<String> values;
+        do {
+            values = readCsvRecord();
+            if (values == null) {
+                return null;
+            }
+        } while (values.size() == 1 && values.get(0).isEmpty()); // skip blank lines
+        rowNumber++;
+        Map<String, String> row = new LinkedHashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            row.put(header.get(i), values.get(i));
+        }
+        return row;
+    }
+
+    private List<String> readCsvRecord() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        in.unread(c);
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            c = in.read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field");
+                } else if (c == '"') {
+                    int nextChar = in.read();
+                    if (nextChar == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (nextChar != -1) in.unread(nextChar);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int nextChar = in.read();
+                    if (nextChar != '\n' && nextChar != -1) in.unread(nextChar);
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    // --------------------------------------------------------------- JSON
+
+    private Map<String, String> nextJsonObject() throws IOException {
+        int c = skipWhitespace();
+        if (!jsonStarted) {
+            jsonStarted = true;
+            if (c == '[') {
+                jsonArray = true;
+                c = skipWhitespace();
+                if (c == ']') {
+                    return null;
+                }
+            }
+        } else if (jsonArray) {
+            if (c == ']') {
+                return null;
+            }
+            if (c != ',') {
+                throw new IOException("Expected ',' or ']' after row " + rowNumber);
+            }
+            c = skipWhitespace();
+        }
+        if (c == -1) {
+            if (jsonArray) throw new IOException("Unexpected end of JSON array");
+            return null;
+        }
+        if (c != '{') {
+            throw new IOException("Expected a JSON object for row " + (rowNumber + 1));
+        }
+        rowNumber++;
+        Map<String, String> row = new LinkedHashMap<>();
+        c = skipWhitespace();
+        if (c == '}') {
+            return row;
+        }
+        while (true) {
+            if (c != '"') {
+                throw new IOException("Expected a field name in row " + rowNumber);
+            }
+            String key = readJsonString().toLowerCase(Locale.ROOT);
+            if (skipWhitespace() != ':') {
+                throw new IOException("Expected ':' after \"" + key + "\" in row " + rowNumber);
+            }
+            row.put(key, readJsonValue(key));
+            c = skipWhitespace();
+            if (c == '}') {
+                return row;
+            }
+            if (c != ',') {
+                throw new IOException("Expected ',' or '}' in row " + rowNumber);
+            }
+            c = skipWhitespace();
+        }
+    }
+
+    private String readJsonValue(String key) throws IOException {
+        int c = skipWhitespace();
+        if (c == '"') {
+            return readJsonString();
+        }
+        if (c == '{' || c == '[') {
+            throw new IOException("Nested value for \"" + key + "\" in row " + rowNumber + " is not supported");
+        }
+        StringBuilder literal = new StringBuilder();
+        while (c != -1 && c != ',' && c != '}' && !Character.isWhitespace(c)) {
+            literal.append((char) c);
+            c = in.read();
+        }
+        if (c != -1) in.unread(c);
+        String value = literal.toString();
+        return "null".equals(value) ? null : value;
+    }
+
+    private String readJsonString() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        while (true) {
+            int c = in.read();
+            if (c == -1) {
+                throw new IOException("Unterminated string in row " + rowNumber);
+            }
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append((char) c);
+                continue;
+            }
+            int esc = in.read();
+            switch (esc) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    char[] hex = new char[4];
+                    for (int i = 0; i < 4; i++) {
+                        int h = in.read();
+                        if (h == -1) throw new IOException("Bad \\u escape in row " + rowNumber);
+                        hex[i] = (char) h;
+                    }
+                    try {
+                        sb.append((char) Integer.parseInt(new String(hex), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IOException("Bad \\u escape in row " + rowNumber, e);
+                    }
+                    break;
+                case -1:
+                    throw new IOException("Unterminated string in row " + rowNumber);
+                default:
+                    sb.append((char) esc); // \" \\ \/
+            }
+        }
+    }
+
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = in.read();
+        } while (c != -1 && Character.isWhitespace(c));
+        return c;
+    }
+}
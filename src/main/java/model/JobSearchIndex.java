@@ -0,0 +1,302 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index over job title, description and location, used by
+ * /searchJobs so searches never hit MySQL. Built from JobDAO at startup and
+ * kept current by JobDAO and ApplicationDAO on every job write. Ranking is
+ * BM25 with title terms weighted above location and description; each query
+ * term also matches indexed terms it is a prefix of, at a reduced weight.
+ * Writes made by other nodes are picked up by the periodic refresh
+ * (search.reloadSeconds), which applies only the jobs changed since the last
+ * one; writes this node makes while a reload is loading win over the loaded
+ * rows.
+ */
+public class JobSearchIndex {
+    private static final JobSearchIndex INSTANCE = new JobSearchIndex();
+
+    // BM25 parameters (the usual defaults)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Term frequency weight per field
+    private static final int TITLE_WEIGHT = 3;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<Integer, Document> documents = new HashMap<>();
+    // term -> (job id -> weighted term frequency); sorted so prefixes are a range scan
+    private TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+    private long totalLength;
+    // Jobs written since beginReload(); null when no reload is in progress
+    private Set<Integer> changedDuringReload;
+
+    JobSearchIndex() {}
+
+    public static JobSearchIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Starts a reload: call before loading the jobs passed to rebuild(), so
+     * local writes made in between are not replaced by older loaded rows.
+     */
+    public void beginReload() {
+        lock.writeLock().lock();
+        try {
+            changedDuringReload = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Replaces the whole index with the given jobs. */
+    public void rebuild(Collection<Job> jobs) {
+        Map<Integer, Document> newDocuments = new HashMap<>();
+        TreeMap<String, Map<Integer, Integer>> newPostings = new TreeMap<>();
+        long newTotalLength = 0;
+        for (Job job : jobs) {
+            Document doc = new Document(copy(job));
+            newDocuments.put(job.getJobId(), doc);
+            addPostings(newPostings, doc);
+            newTotalLength += doc.length;
+        }
+        lock.writeLock().lock();
+        try {
+            if (changedDuringReload != null) {
+                for (int jobId : changedDuringReload) {
+                    Document loaded = newDocuments.remove(jobId);
+                    if (loaded != null) {
+                        removePostings(newPostings, loaded);
+                        newTotalLength -= loaded.length;
+                    }
+                    Document current = documents.get(jobId);
+                    if (current != null) {
+                        newDocuments.put(jobId, current);
+                        addPostings(newPostings, current);
+                        newTotalLength += current.length;
+                    }
+                }
+                changedDuringReload = null;
+            }
+            documents = newDocuments;
+            postings = newPostings;
+            totalLength = newTotalLength;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies jobs changed and removed elsewhere (see JobChangeFeed) without
+     * rebuilding; like rebuild(), it ends a reload started with beginReload(),
+     * and jobs this node wrote in the meantime keep their current entry.
+     */
+    public void applyChanges(Collection<Job> changed, Collection<Integer> removed) {
+        lock.writeLock().lock();
+        try {
+            Set<Integer> skip = changedDuringReload != null ? changedDuringReload : Collections.emptySet();
+            for (int jobId : removed) {
+                if (!skip.contains(jobId)) {
+                    removeDocument(jobId);
+                }
+            }
+            for (Job job : changed) {
+                if (!skip.contains(job.getJobId()) && !removed.contains(job.getJobId())) {
+                    removeDocument(job.getJobId());
+                    Document doc = new Document(copy(job));
+                    documents.put(job.getJobId(), doc);
+                    addPostings(postings, doc);
+                    totalLength += doc.length;
+                }
+            }
+            changedDuringReload = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds a job or re-indexes it after an update. */
+    public void index(Job job) {
+        if (job == null || job.getJobId() <= 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (changedDuringReload != null) {
+                changedDuringReload.add(job.getJobId());
+            }
+            Document old = removeDocument(job.getJobId());
+            Job stored = copy(job);
+            // updateJob does not carry the owner; keep the one we already know
+            if (stored.getEmployerId() <= 0 && old != null) {
+                stored.setEmployerId(old.job.getEmployerId());
+            }
+            Document doc = new Document(stored);
+            documents.put(stored.getJobId(), doc);
+            addPostings(postings, doc);
+            totalLength += doc.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int jobId) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringReload != null) {
+                changedDuringReload.add(jobId);
+            }
+            removeDocument(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns up to limit jobs matching the query, best first. */
+    public List<Job> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(query));
+        List<Job> results = new ArrayList<>();
+        if (terms.isEmpty() || limit <= 0) {
+            return results;
+        }
+        lock.readLock().lock();
+        try {
+            if (documents.isEmpty()) {
+                return results;
+            }
+            double avgLength = (double) totalLength / documents.size();
+            Map<Integer, Double> scores = new HashMap<>();
+            for (String term : terms) {
+                // Best match per job for this query term, so several expansions don't stack
+                Map<Integer, Double> best = new HashMap<>();
+                score(term, 1.0, avgLength, best);
+                int expansions = 0;
+                for (String candidate : postings.subMap(term, false, term + Character.MAX_VALUE, false).keySet()) {
+                    if (++expansions > MAX_PREFIX_EXPANSIONS) break;
+                    score(candidate, PREFIX_WEIGHT, avgLength, best);
+                }
+                for (Map.Entry<Integer, Double> e : best.entrySet()) {
+                    scores.merge(e.getKey(), e.getValue(), Double::sum);
+                }
+            }
+
+            // Min-heap of the best `limit` scores; ties go to the newer job
+            Comparator<Map.Entry<Integer, Double>> byScore = Map.Entry.comparingByValue();
+            byScore = byScore.thenComparing(Map.Entry.comparingByKey());
+            PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(limit + 1, byScore);
+            for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+                top.add(e);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            while (!top.isEmpty()) {
+                results.add(copy(documents.get(top.poll().getKey()).job));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    private void score(String term, double weight, double avgLength, Map<Integer, Double> best) {
+        Map<Integer, Integer> posting = postings.get(term);
+        if (posting == null) {
+            return;
+        }
+        int n = documents.size();
+        int df = posting.size();
+        double idf = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+        for (Map.Entry<Integer, Integer> e : posting.entrySet()) {
+            int tf = e.getValue();
+            double norm = K1 * (1 - B + B * documents.get(e.getKey()).length / avgLength);
+            double s = weight * idf * tf * (K1 + 1) / (tf + norm);
+            best.merge(e.getKey(), s, Math::max);
+        }
+    }
+
+    // Caller holds the write lock
+    private Document removeDocument(int jobId) {
+        Document doc = documents.remove(jobId);
+        if (doc == null) {
+            return null;
+        }
+        removePostings(postings, doc);
+        totalLength -= doc.length;
+        return doc;
+    }
+
+    private static void removePostings(TreeMap<String, Map<Integer, Integer>> postings, Document doc) {
+        for (String term : doc.termFrequencies.keySet()) {
+            Map<Integer, Integer> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(doc.job.getJobId());
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addPostings(TreeMap<String, Map<Integer, Integer>> postings, Document doc) {
+        for (Map.Entry<String, Integer> e : doc.termFrequencies.entrySet()) {
+            postings.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(doc.job.getJobId(), e.getValue());
+        }
+    }
+
+    private static Job copy(Job job) {
+        Job c = new Job(job.getTitle(), job.getDescription(), job.getLocation(), job.getSalary(), job.getEmployerId());
+        c.setJobId(job.getJobId());
+        return c;
+    }
+
+    private static final class Document {
+        final Job job;
+        final Map<String, Integer> termFrequencies = new HashMap<>();
+        final int length;
+
+        Document(Job job) {
+            this.job = job;
+            int len = 0;
+            len += addField(job.getTitle(), TITLE_WEIGHT);
+            len += addField(job.getLocation(), LOCATION_WEIGHT);
+            len += addField(job.getDescription(), DESCRIPTION_WEIGHT);
+            this.length = Math.max(1, len);
+        }
+
+        private int addField(String text, int weight) {
+            List<String> terms = TextTokenizer.tokenize(text);
+            for (String term : terms) {
+                termFrequencies.merge(term, weight, Integer::sum);
+            }
+            return terms.size() * weight;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package model;
+
+/** Helpers for the hand-written JSON responses (/importJobs, /searchJobs). */
+public final class Json {
+
+    private Json() {}
+
+    /** The value as a quoted, escaped JSON string; null as the JSON literal null. */
+    public static String string(String value) {
+        if (value == null) return "null";
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -18,8 +18,8 @@ public class LoginController extends HttpServlet {
         try {
             User user = new UserDAO().getUserByCredentials(email, password);
             if (user != null) {
-                HttpSession session = request.getSession();
-                session.setAttribute("user", user);
+                // Only id, role and name go into the session, never the password
+                Sessions.login(request, response, user);
                 // Redirect based on user role:
                 if ("EMPLOYER".equalsIgnoreCase(user.getRole())) {
                     response.sendRedirect(request.getContextPath() + "/employerDashboard");
@@ -30,7 +30,7 @@ public class LoginController extends HttpServlet {
                 request.setAttribute("error", "Invalid credentials");
                 request.getRequestDispatcher("login.jsp").forward(request, response);
             }
-        } catch (SQLException e) {
+        } catch (SQLException | SessionStoreException e) {
             throw new ServletException("Database error", e);
         }
     }
@@ -14,9 +14,10 @@ public class LogoutServlet extends HttpServlet {
 
 	protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
-        HttpSession session = request.getSession(false);
-        if (session != null) {
-            session.invalidate();
+        try {
+            Sessions.logout(request, response);
+        } catch (SessionStoreException e) {
+            throw new ServletException("Logout failed", e);
         }
         response.sendRedirect("login.jsp");
     }
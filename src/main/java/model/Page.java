@@ -0,0 +1,36 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/** One page of a keyset-paginated listing plus the cursor for the next page. */
+public class Page<T> {
+    private final List<T> items;
+    private final boolean hasNext;
+    private final Integer nextAfterId;
+    private final String nextAfterValue;
+
+    public Page(List<T> items, boolean hasNext, Integer nextAfterId, String nextAfterValue) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasNext = hasNext;
+        this.nextAfterId = nextAfterId;
+        this.nextAfterValue = nextAfterValue;
+    }
+
+    // rows holds up to pageSize + 1 rows; the extra one only signals that another page exists
+    static <T> Page<T> of(List<T> rows, int pageSize, Function<T, Integer> idOf, Function<T, String> sortValueOf) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> items = hasNext ? rows.subList(0, pageSize) : rows;
+        if (!hasNext || items.isEmpty()) {
+            return new Page<>(items, false, null, null);
+        }
+        T last = items.get(items.size() - 1);
+        return new Page<>(items, true, idOf.apply(last), sortValueOf.apply(last));
+    }
+
+    public List<T> getItems() { return items; }
+    public boolean hasNext() { return hasNext; }
+    public Integer getNextAfterId() { return nextAfterId; }
+    public String getNextAfterValue() { return nextAfterValue; }
+}
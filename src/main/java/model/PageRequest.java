@@ -0,0 +1,186 @@
+package model;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Keyset (seek) pagination request: a whitelisted sort key plus the sort value
+ * and id of the last row already shown. Each page is fetched with
+ * "WHERE (sort, id) past the cursor ORDER BY sort, id LIMIT n", so page 10,000
+ * costs the same index range scan as page 1.
+ */
+public class PageRequest {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public enum SortKey {
+        SALARY("salary"), DATE("date"), TITLE("title");
+
+        private final String param;
+
+        SortKey(String param) {
+            this.param = param;
+        }
+
+        public String getParam() { return param; }
+
+        static SortKey fromParam(String param) {
+            for (SortKey key : values()) {
+                if (key.param.equalsIgnoreCase(param)) {
+                    return key;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final SortKey sortKey;
+    private final boolean descending;
+    private final int pageSize;
+    private final Integer afterId;
+    private final String afterValue;
+
+    public PageRequest(SortKey sortKey, boolean descending, int pageSize, Integer afterId, String afterValue) {
+        this.sortKey = sortKey != null ? sortKey : SortKey.DATE;
+        this.descending = descending;
+        this.pageSize = Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE));
+        // A cursor needs both halves, and a salary cursor must be numeric; otherwise start from the top
+        if (afterId != null && afterValue != null && isValidValue(this.sortKey, afterValue)) {
+            this.afterId = afterId;
+            this.afterValue = afterValue;
+        } else {
+            this.afterId = null;
+            this.afterValue = null;
+        }
+    }
+
+    public static PageRequest firstPage() {
+        return new PageRequest(SortKey.DATE, true, DEFAULT_PAGE_SIZE, null, null);
+    }
+
+    // Reads sort, dir, size, afterId and after; unknown sort keys fall back to newest first
+    public static PageRequest fromRequest(HttpServletRequest request) {
+        SortKey sortKey = SortKey.fromParam(request.getParameter("sort"));
+        String dir = request.getParameter("dir");
+        // Newest / highest paid first by default, titles A-Z
+        boolean descending = dir == null ? sortKey != SortKey.TITLE : !"asc".equalsIgnoreCase(dir);
+        return new PageRequest(sortKey, descending,
+                parseInt(request.getParameter("size"), DEFAULT_PAGE_SIZE),
+                parseInt(request.getParameter("afterId"), null),
+                request.getParameter("after"));
+    }
+
+    public SortKey getSortKey() { return sortKey; }
+    public boolean isDescending() { return descending; }
+    public int getPageSize() { return pageSize; }
+    public Integer getAfterId() { return afterId; }
+    public String getAfterValue() { return afterValue; }
+    public boolean isFirstPage() { return afterId == null; }
+
+    /**
+     * Appends the seek predicate, ORDER BY and LIMIT for this page. sortColumns
+     * maps each sort key to the column it orders by in this query; a key mapped
+     * to idColumn itself (e.g. DATE on jobs, whose ids grow with posting time)
+     * seeks on the id alone.
+     */
+    void appendKeyset(StringBuilder sql, Map<SortKey, String> sortColumns, String idColumn, boolean hasWhere) {
+        String sortColumn = sortColumns.get(sortKey);
+        String op = descending ? "<" : ">";
+        String order = descending ? " DESC" : " ASC";
+        if (afterId != null) {
+            sql.append(hasWhere ? " AND " : " WHERE ");
+            if (sortColumn.equals(idColumn)) {
+                sql.append(idColumn).append(' ').append(op).append(" ?");
+            } else {
+                sql.append("(").append(sortColumn).append(' ').append(op).append(" ? OR (")
+                   .append(sortColumn).append(" = ? AND ").append(idColumn).append(' ').append(op).append(" ?))");
+            }
+        }
+        sql.append(" ORDER BY ");
+        if (!sortColumn.equals(idColumn)) {
+            sql.append(sortColumn).append(order).append(", ");
+        }
+        sql.append(idColumn).append(order);
+        // One extra row tells us whether there is a next page
+        sql.append(" LIMIT ").append(pageSize + 1);
+    }
+
+    // Binds the parameters added by appendKeyset, starting at index; returns the next free index
+    int bindKeyset(PreparedStatement stmt, int index, Map<SortKey, String> sortColumns, String idColumn) throws SQLException {
+        if (afterId == null) {
+            return index;
+        }
+        if (!sortColumns.get(sortKey).equals(idColumn)) {
+            for (int i = 0; i < 2; i++) {
+                if (sortKey == SortKey.SALARY) {
+                    stmt.setDouble(index++, Double.parseDouble(afterValue));
+                } else {
+                    stmt.setString(index++, afterValue);
+                }
+            }
+        }
+        stmt.setInt(index++, afterId);
+        return index;
+    }
+
+    /**
+     * Merges the rows the same keyset query returned on several shards into
+     * the first pageSize + 1 rows in query order. sortOrder compares the sort
+     * column ascending; ties break on id as in the SQL.
+     */
+    <T> List<T> merge(List<List<T>> perShard, Comparator<T> sortOrder, ToIntFunction<T> idOf) {
+        Comparator<T> order = sortOrder.thenComparingInt(idOf);
+        if (descending) {
+            order = order.reversed();
+        }
+        List<T> rows = new ArrayList<>();
+        for (List<T> shardRows : perShard) {
+            rows.addAll(shardRows);
+        }
+        rows.sort(order);
+        return rows.size() > pageSize + 1 ? new ArrayList<>(rows.subList(0, pageSize + 1)) : rows;
+    }
+
+    // Query string for the page after the given one, keeping the current sort
+    public String nextPageQuery(Page<?> page) {
+        StringBuilder query = new StringBuilder(sortQuery());
+        if (page.hasNext()) {
+            query.append("&afterId=").append(page.getNextAfterId())
+                 .append("&after=").append(URLEncoder.encode(page.getNextAfterValue(), StandardCharsets.UTF_8));
+        }
+        return query.toString();
+    }
+
+    public String sortQuery() {
+        return "sort=" + sortKey.getParam() + "&dir=" + (descending ? "desc" : "asc") + "&size=" + pageSize;
+    }
+
+    private static boolean isValidValue(SortKey sortKey, String value) {
+        if (sortKey != SortKey.SALARY) {
+            return true;
+        }
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static Integer parseInt(String value, Integer defaultValue) {
+        if (value == null || value.isEmpty()) return defaultValue;
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** Point-in-time snapshot of a {@link ConnectionPool}. */
+public class PoolStats {
+    private final String poolName;
+    private final int active;
+    private final int idle;
+    private final int waiters;
+    private final int maxSize;
+    private final long totalBorrows;
+    private final long totalTimeouts;
+    private final long totalCreated;
+    private final long totalEvicted;
+    private final long totalReclaimed;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+    private final long[] waitHistogram;
+
+    PoolStats(String poolName, int active, int idle, int waiters, int maxSize,
+              long totalBorrows, long totalTimeouts, long totalCreated, long totalEvicted, long totalReclaimed,
+              long statementCacheHits, long statementCacheMisses, long[] waitHistogram) {
+        this.poolName = poolName;
+        this.active = active;
+        this.idle = idle;
+        this.waiters = waiters;
+        this.maxSize = maxSize;
+        this.totalBorrows = totalBorrows;
+        this.totalTimeouts = totalTimeouts;
+        this.totalCreated = totalCreated;
+        this.totalEvicted = totalEvicted;
+        this.totalReclaimed = totalReclaimed;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+        this.waitHistogram = waitHistogram;
+    }
+
+    public String getPoolName() { return poolName; }
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getWaiters() { return waiters; }
+    public int getMaxSize() { return maxSize; }
+    public long getTotalBorrows() { return totalBorrows; }
+    public long getTotalTimeouts() { return totalTimeouts; }
+    public long getTotalCreated() { return totalCreated; }
+    public long getTotalEvicted() { return totalEvicted; }
+    public long getTotalReclaimed() { return totalReclaimed; }
+    public long getStatementCacheHits() { return statementCacheHits; }
+    public long getStatementCacheMisses() { return statementCacheMisses; }
+
+    public double getStatementCacheHitRatio() {
+        long total = statementCacheHits + statementCacheMisses;
+        return total == 0 ? 0.0 : (double) statementCacheHits / total;
+    }
+
+    // Borrow wait times keyed by bucket label, e.g. "<=5ms" -> count
+    public Map<String, Long> getWaitHistogram() {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        long[] bounds = ConnectionPool.WAIT_BUCKETS_MS;
+        for (int i = 0; i < bounds.length; i++) {
+            buckets.put("<=" + bounds[i] + "ms", waitHistogram[i]);
+        }
+        buckets.put(">" + bounds[bounds.length - 1] + "ms", waitHistogram[bounds.length]);
+        return buckets;
+    }
+
+    @Override
+    public String toString() {
+        return "PoolStats[" + poolName + ": active=" + active + ", idle=" + idle + ", waiters=" + waiters
+                + ", max=" + maxSize + ", borrows=" + totalBorrows + ", timeouts=" + totalTimeouts
+                + ", created=" + totalCreated + ", evicted=" + totalEvicted + ", reclaimed=" + totalReclaimed
+                + ", stmtHits=" + statementCacheHits + ", stmtMisses=" + statementCacheMisses
+                + ", stmtHitRatio=" + String.format("%.3f", getStatementCacheHitRatio())
+                + ", wait=" + getWaitHistogram() + "]";
+    }
+}
@@ -0,0 +1,307 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Matches job seekers' skills against job text. Each job is a sparse,
+ * length-normalized term vector (title terms weighted up) held in a
+ * term -> job index; a seeker's skills are a term set, so scoring one seeker
+ * only walks the postings of their own skill terms. Top-N lists are computed
+ * for every seeker at startup and recomputed on the next read for seekers a
+ * job or profile change could have affected.
+ *
+ * Reads are lock-free: each seeker's list is an immutable snapshot in a
+ * concurrent map, and only recomputing one takes the engine's lock. Jobs the
+ * seeker applied to are left out of the ranking itself, so a seeker who
+ * applied to much of their list gets it re-ranked rather than cut short.
+ */
+public class RecommendationEngine {
+    private static final RecommendationEngine INSTANCE =
+            new RecommendationEngine(AppConfig.getInt("recommendations.topN", 50));
+    private static final int TITLE_WEIGHT = 3;
+
+    private final int topN;
+    // Written under the lock, read without it; the Job objects are private copies never changed in place
+    private final Map<Integer, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<Integer, Map<String, Double>> jobVectors = new HashMap<>();
+    private final Map<String, Map<Integer, Double>> termJobs = new HashMap<>();
+    // Written under the lock, read without it by seekerLoaded; the sets are never changed in place
+    private final Map<Integer, Set<String>> seekerSkills = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> termSeekers = new HashMap<>();
+    private final ConcurrentMap<Integer, Recommendations> recommendations = new ConcurrentHashMap<>();
+    private final Set<Integer> stale = ConcurrentHashMap.newKeySet();
+
+    RecommendationEngine(int topN) {
+        this.topN = Math.max(1, topN);
+    }
+
+    public static RecommendationEngine getInstance() {
+        return INSTANCE;
+    }
+
+    /** Reloads all jobs and seekers and precomputes every seeker's list. */
+    public synchronized void rebuild(Collection<Job> allJobs, Collection<User> seekers) {
+        jobs.clear();
+        jobVectors.clear();
+        termJobs.clear();
+        seekerSkills.clear();
+        termSeekers.clear();
+        recommendations.clear();
+        stale.clear();
+        for (Job job : allJobs) {
+            addJob(copy(job));
+        }
+        for (User seeker : seekers) {
+            addSeeker(seeker);
+        }
+        for (int seekerId : seekerSkills.keySet()) {
+            recommendations.put(seekerId, compute(seekerId, Collections.emptySet()));
+        }
+    }
+
+    /**
+     * Returns up to limit recommended jobs for the seeker, best match first,
+     * leaving out excludedJobIds (the jobs they already applied to).
+     */
+    public List<Job> recommend(int seekerId, int limit, Set<Integer> excludedJobIds) {
+        Recommendations recs = recommendations.get(seekerId);
+        if (recs == null || stale.contains(seekerId)) {
+            recs = recompute(seekerId, excludedJobIds);
+        }
+        List<Job> result = new ArrayList<>();
+        boolean skipped = pick(recs, limit, excludedJobIds, result);
+        if (skipped && result.size() < limit && !recs.complete) {
+            // Applications used up part of the list and more jobs matched; rank again without them
+            recs = recompute(seekerId, excludedJobIds);
+            result.clear();
+            pick(recs, limit, excludedJobIds, result);
+        }
+        return result;
+    }
+
+    // Adds up to limit jobs from the list to result; true if any were excluded
+    private boolean pick(Recommendations recs, int limit, Set<Integer> excludedJobIds, List<Job> result) {
+        boolean skipped = false;
+        for (int jobId : recs.jobIds) {
+            if (result.size() >= limit) break;
+            if (excludedJobIds.contains(jobId)) {
+                skipped = true;
+                continue;
+            }
+            Job job = jobs.get(jobId);
+            if (job != null) {
+                result.add(copy(job));
+            }
+        }
+        return skipped;
+    }
+
+    private synchronized Recommendations recompute(int seekerId, Set<Integer> excludedJobIds) {
+        stale.remove(seekerId);
+        Recommendations recs = compute(seekerId, excludedJobIds);
+        if (seekerSkills.containsKey(seekerId)) {
+            recommendations.put(seekerId, recs);
+        }
+        return recs;
+    }
+
+    // --- change notifications from the DAOs ---
+
+    public synchronized void jobChanged(Job job) {
+        if (job == null || job.getJobId() <= 0) {
+            return;
+        }
+        Job old = jobs.get(job.getJobId());
+        Job stored = copy(job);
+        if (stored.getEmployerId() <= 0 && old != null) {
+            stored.setEmployerId(old.getEmployerId());
+        }
+        if (old != null && Objects.equals(old.getTitle(), stored.getTitle())
+                && Objects.equals(old.getDescription(), stored.getDescription())) {
+            // Same text, same vector: no ranking changes (the change feed re-sends jobs it already sent)
+            jobs.put(stored.getJobId(), stored);
+            return;
+        }
+        Set<String> affectedTerms = new HashSet<>(removeJob(job.getJobId()));
+        addJob(stored);
+        affectedTerms.addAll(jobVectors.get(stored.getJobId()).keySet());
+        markStale(affectedTerms);
+    }
+
+    public synchronized void jobRemoved(int jobId) {
+        markStale(removeJob(jobId));
+    }
+
+    public synchronized void seekerChanged(User user) {
+        if (user == null || user.getUserId() <= 0) {
+            return;
+        }
+        // updateUser does not carry the role; keep treating a known seeker as one
+        boolean known = seekerSkills.containsKey(user.getUserId());
+        removeSeeker(user.getUserId());
+        if ("JOB_SEEKER".equals(user.getRole()) || (user.getRole() == null && known)) {
+            addSeeker(user);
+            stale.add(user.getUserId());
+        }
+    }
+
+    /**
+     * Called with a seeker freshly read from the database: picks up a profile
+     * created or edited on another node. Lock-free when nothing changed.
+     */
+    public void seekerLoaded(User user) {
+        if (user == null || user.getUserId() <= 0 || !"JOB_SEEKER".equals(user.getRole())) {
+            return;
+        }
+        Set<String> known = seekerSkills.get(user.getUserId());
+        if (known == null || !known.equals(new LinkedHashSet<>(TextTokenizer.tokenize(user.getSkills())))) {
+            seekerChanged(user);
+        }
+    }
+
+    // --- internals; callers hold the lock ---
+
+    private Recommendations compute(int seekerId, Set<Integer> excludedJobIds) {
+        Set<String> skills = seekerSkills.get(seekerId);
+        if (skills == null || skills.isEmpty() || jobs.isEmpty()) {
+            return Recommendations.NONE;
+        }
+        Map<Integer, Double> scores = new HashMap<>();
+        for (String term : skills) {
+            Map<Integer, Double> posting = termJobs.get(term);
+            if (posting == null) continue;
+            // Rarer skills say more about a match than ones every posting mentions
+            double idf = Math.log(1 + (double) jobs.size() / posting.size());
+            for (Map.Entry<Integer, Double> e : posting.entrySet()) {
+                scores.merge(e.getKey(), idf * e.getValue(), Double::sum);
+            }
+        }
+        PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(topN + 1,
+                Map.Entry.<Integer, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        int matched = 0;
+        for (Map.Entry<Integer, Double> e : scores.entrySet()) {
+            if (excludedJobIds.contains(e.getKey())) {
+                continue;
+            }
+            matched++;
+            top.add(e);
+            if (top.size() > topN) {
+                top.poll();
+            }
+        }
+        List<Integer> jobIds = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            jobIds.add(top.poll().getKey());
+        }
+        Collections.reverse(jobIds);
+        return new Recommendations(jobIds, matched <= topN);
+    }
+
+    private void addJob(Job job) {
+        Map<String, Double> vector = new HashMap<>();
+        for (String term : TextTokenizer.tokenize(job.getTitle())) {
+            vector.merge(term, (double) TITLE_WEIGHT, Double::sum);
+        }
+        for (String term : TextTokenizer.tokenize(job.getDescription())) {
+            vector.merge(term, 1.0, Double::sum);
+        }
+        double norm = 0;
+        for (double w : vector.values()) {
+            norm += w * w;
+        }
+        norm = Math.sqrt(norm);
+        for (Map.Entry<String, Double> e : vector.entrySet()) {
+            e.setValue(e.getValue() / norm);
+            termJobs.computeIfAbsent(e.getKey(), k -> new HashMap<>()).put(job.getJobId(), e.getValue());
+        }
+        jobs.put(job.getJobId(), job);
+        jobVectors.put(job.getJobId(), vector);
+    }
+
+    // Returns the removed job's terms
+    private Set<String> removeJob(int jobId) {
+        jobs.remove(jobId);
+        Map<String, Double> vector = jobVectors.remove(jobId);
+        if (vector == null) {
+            return Collections.emptySet();
+        }
+        for (String term : vector.keySet()) {
+            Map<Integer, Double> posting = termJobs.get(term);
+            if (posting != null) {
+                posting.remove(jobId);
+                if (posting.isEmpty()) {
+                    termJobs.remove(term);
+                }
+            }
+        }
+        return vector.keySet();
+    }
+
+    private void addSeeker(User user) {
+        Set<String> skills = new LinkedHashSet<>(TextTokenizer.tokenize(user.getSkills()));
+        seekerSkills.put(user.getUserId(), skills);
+        for (String term : skills) {
+            termSeekers.computeIfAbsent(term, k -> new HashSet<>()).add(user.getUserId());
+        }
+    }
+
+    private void removeSeeker(int seekerId) {
+        Set<String> skills = seekerSkills.remove(seekerId);
+        recommendations.remove(seekerId);
+        stale.remove(seekerId);
+        if (skills == null) {
+            return;
+        }
+        for (String term : skills) {
+            Set<Integer> seekers = termSeekers.get(term);
+            if (seekers != null) {
+                seekers.remove(seekerId);
+                if (seekers.isEmpty()) {
+                    termSeekers.remove(term);
+                }
+            }
+        }
+    }
+
+    // Only seekers sharing a term with the changed job can see their list change
+    private void markStale(Set<String> terms) {
+        for (String term : terms) {
+            Set<Integer> seekers = termSeekers.get(term);
+            if (seekers != null) {
+                stale.addAll(seekers);
+            }
+        }
+    }
+
+    /** One seeker's ranked job ids; never modified once built. */
+    private static final class Recommendations {
+        static final Recommendations NONE = new Recommendations(Collections.emptyList(), true);
+
+        final List<Integer> jobIds;
+        // False when more jobs matched than the topN kept
+        final boolean complete;
+
+        Recommendations(List<Integer> jobIds, boolean complete) {
+            this.jobIds = Collections.unmodifiableList(jobIds);
+            this.complete = complete;
+        }
+    }
+
+    private static Job copy(Job job) {
+        Job c = new Job(job.getTitle(), job.getDescription(), job.getLocation(), job.getSalary(), job.getEmployerId());
+        c.setJobId(job.getJobId());
+        return c;
+    }
+}
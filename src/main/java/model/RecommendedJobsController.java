@@ -0,0 +1,44 @@
+package model;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+
+@WebServlet(value = "/recommendedJobs", asyncSupported = true)
+public class RecommendedJobsController extends AsyncDbServlet {
+    private static final long serialVersionUID = 1L;
+
+    protected void handleGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        SessionUser user = Sessions.currentUser(request);
+
+        if (user == null || !"JOB_SEEKER".equals(user.getRole())) {
+            response.sendRedirect(request.getContextPath() + "/login.jsp");
+            return;
+        }
+
+        try {
+            // Leave out jobs the seeker already applied to, like the regular job list does;
+            // the engine ranks without them, so the list stays full
+            Set<Integer> appliedJobIds = new ApplicationDAO().getAppliedJobIds(user.getUserId());
+            // The profile may have been created or edited on another node since the engine last saw it
+            RecommendationEngine engine = RecommendationEngine.getInstance();
+            engine.seekerLoaded(new UserDAO().getUserById(user.getUserId()));
+            List<Job> jobs = engine.recommend(user.getUserId(),
+                    PageRequest.DEFAULT_PAGE_SIZE, appliedJobIds);
+
+            request.setAttribute("jobs", jobs);
+            if (jobs.isEmpty()) {
+                request.setAttribute("message", "No recommendations yet. Add skills to your profile to get matched with jobs.");
+            }
+            forward(request, response, "/viewJobs.jsp");
+        } catch (SQLException e) {
+            throw new ServletException("Database error", e);
+        }
+    }
+}
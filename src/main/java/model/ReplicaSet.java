@@ -0,0 +1,141 @@
+package model;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The read replicas behind DatabaseUtil.getReadConnection(), one pool each.
+ * Borrowing goes round-robin over the replicas currently marked healthy,
+ * skipping any whose pool has no free connection. A replica is marked down
+ * only when it cannot be connected to, never because its pool is busy, and a
+ * background check marks it up or down again from connectivity and, when
+ * maxLagSeconds is set and the account may run SHOW REPLICA STATUS, from
+ * replication lag.
+ */
+class ReplicaSet {
+    private final ConnectionPool[] pools;
+    private final boolean[] healthy;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService checker;
+
+    ReplicaSet(List<String> urls, String user, String password, Properties settings,
+               long checkIntervalMs, long maxLagSeconds) {
+        this.pools = new ConnectionPool[urls.size()];
+        this.healthy = new boolean[urls.size()];
+        this.maxLagSeconds = maxLagSeconds;
+        for (int i = 0; i < pools.length; i++) {
+            pools[i] = new ConnectionPool("replica-" + (i + 1), urls.get(i), user, password, settings);
+            healthy[i] = true;
+        }
+        this.checker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ReplicaSet-health-check");
+            t.setDaemon(true);
+            return t;
+        });
+        checker.scheduleWithFixedDelay(this::checkAll, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /** A connection from the next healthy replica, or null when none is available. */
+    Connection borrow() {
+        int start = Math.floorMod(next.getAndIncrement(), pools.length);
+        int busy = -1;
+        // First pass: a replica with a connection free right now
+        for (int i = 0; i < pools.length; i++) {
+            int index = (start + i) % pools.length;
+            if (!isHealthy(index)) {
+                continue;
+            }
+            Connection conn = tryBorrow(index, 0);
+            if (conn != null) {
+                return conn;
+            }
+            if (busy < 0 && isHealthy(index)) {
+                busy = index;
+            }
+        }
+        // Every healthy replica is saturated: wait on one, once; null sends the read to the primary
+        return busy < 0 ? null : tryBorrow(busy, pools[busy].getBorrowTimeoutMs());
+    }
+
+    // Null when the pool stayed busy; a failure to connect marks the replica down
+    private Connection tryBorrow(int index, long timeoutMs) {
+        try {
+            return pools[index].borrow(timeoutMs);
+        } catch (SQLException e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                setHealthy(index, false, e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    List<PoolStats> getStats() {
+        PoolStats[] stats = new PoolStats[pools.length];
+        for (int i = 0; i < pools.length; i++) {
+            stats[i] = pools[i].getStats();
+        }
+        return List.of(stats);
+    }
+
+    void shutdown() {
+        checker.shutdownNow();
+        for (ConnectionPool pool : pools) {
+            pool.shutdown();
+        }
+    }
+
+    private void checkAll() {
+        for (int i = 0; i < pools.length; i++) {
+            String problem;
+            try (Connection conn = pools[i].borrow(pools[i].getBorrowTimeoutMs())) {
+                if (conn == null) {
+                    continue; // every connection is busy serving reads, so it is reachable
+                }
+                problem = lagProblem(conn);
+            } catch (SQLException e) {
+                problem = e.getMessage();
+            }
+            setHealthy(i, problem == null, problem);
+        }
+    }
+
+    // Null when the replica is fresh enough to serve reads
+    private String lagProblem(Connection conn) {
+        if (maxLagSeconds <= 0) {
+            return null;
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                return null; // not configured as a replica, e.g. a local test instance
+            }
+            long lag = rs.getLong("Seconds_Behind_Source");
+            if (rs.wasNull()) {
+                return "replication is not running";
+            }
+            return lag > maxLagSeconds ? "replication lag " + lag + "s" : null;
+        } catch (SQLException e) {
+            return null; // no REPLICATION CLIENT privilege; connectivity is all we can check
+        }
+    }
+
+    private synchronized boolean isHealthy(int index) {
+        return healthy[index];
+    }
+
+    private synchronized void setHealthy(int index, boolean up, String reason) {
+        if (healthy[index] != up) {
+            healthy[index] = up;
+            System.out.println("[ReplicaSet] replica-" + (index + 1) + (up ? " is back up" : " marked down: " + reason));
+        }
+    }
+}
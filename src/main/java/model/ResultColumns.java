@@ -0,0 +1,42 @@
+package model;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/** Column label to index lookup, resolved once per ResultSet from its metadata. */
+public class ResultColumns {
+    private final Map<String, Integer> indexes;
+
+    private ResultColumns(Map<String, Integer> indexes) {
+        this.indexes = indexes;
+    }
+
+    public static ResultColumns of(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int count = meta.getColumnCount();
+        Map<String, Integer> indexes = new HashMap<>(count * 2);
+        for (int i = 1; i <= count; i++) {
+            // First occurrence wins, matching ResultSet lookups by label
+            indexes.putIfAbsent(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+        return new ResultColumns(indexes);
+    }
+
+    // Index of a column the query must project
+    public int require(String label) throws SQLException {
+        Integer index = indexes.get(label);
+        if (index == null) {
+            throw new SQLException("Column " + label + " not found in result set");
+        }
+        return index;
+    }
+
+    // Index of a column some queries project, or 0 when absent
+    public int optional(String label) {
+        return indexes.getOrDefault(label, 0);
+    }
+}
@@ -0,0 +1,174 @@
+package model;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Extracts resume text on a small bounded worker pool and feeds it into
+ * CandidateIndex, so applying for a job never waits on extraction. When the
+ * queue is full new work is dropped and remembered; retryDropped(), run by the
+ * maintenance thread, queues it again once there is room. Past MAX_DROPPED
+ * remembered applications it falls back to an indexExisting() pass, which
+ * also catches anything dropped by a node that stopped before retrying.
+ */
+public class ResumeIndexer {
+    private static final ResumeIndexer INSTANCE = new ResumeIndexer(
+            AppConfig.getInt("resumeIndex.workers", 2),
+            AppConfig.getInt("resumeIndex.queueSize", 1000));
+    private static final int TEXT_CACHE_SIZE = 100;
+    private static final int MAX_DROPPED = 10000;
+
+    private final ThreadPoolExecutor workers;
+    private final AtomicLong dropped = new AtomicLong();
+    // Applications rejected by a full queue, by id, until retryDropped() queues them again
+    private final Map<Integer, Application> droppedApplications = new ConcurrentHashMap<>();
+    private volatile boolean droppedOverflow;
+    // The same resume is often sent to several jobs; extract it once
+    private final Map<String, String> textCache = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > TEXT_CACHE_SIZE;
+        }
+    };
+
+    ResumeIndexer(int threads, int queueSize) {
+        AtomicInteger count = new AtomicInteger();
+        workers = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                r -> {
+                    Thread t = new Thread(r, "resume-indexer-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY);
+                    return t;
+                },
+                (r, executor) -> drop(((IndexTask) r).application));
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    public static ResumeIndexer getInstance() {
+        return INSTANCE;
+    }
+
+    /** Queues a newly stored application for indexing; returns immediately. */
+    public void submit(Application application) {
+        if (!ResumeStore.isKey(application.getResumePath())) {
+            return;
+        }
+        workers.execute(new IndexTask(application));
+    }
+
+    /**
+     * Queues the applications dropped so far again, as far as the queue has
+     * room; the rest stay for the next call. Returns how many were queued.
+     */
+    public int retryDropped() throws SQLException {
+        if (droppedOverflow) {
+            // Too many to remember individually; find them through resume_index instead
+            droppedOverflow = false;
+            droppedApplications.clear();
+            indexExisting();
+            return 0;
+        }
+        int queued = 0;
+        for (Application application : droppedApplications.values()) {
+            if (workers.getQueue().remainingCapacity() == 0) {
+                break;
+            }
+            droppedApplications.remove(application.getApplicationId());
+            workers.execute(new IndexTask(application)); // dropped again if the queue just filled up
+            queued++;
+        }
+        return queued;
+    }
+
+    public int getPendingRetries() {
+        return droppedApplications.size();
+    }
+
+    /** Indexes every stored resume not yet in the index (resume_index); runs on the calling thread. */
+    public void indexExisting() throws SQLException {
+        ApplicationDAO applicationDAO = new ApplicationDAO();
+        int indexed = 0;
+        for (User employer : new UserDAO().getUsersByRole("EMPLOYER")) {
+            for (Application application : applicationDAO.getUnindexedApplications(employer.getUserId())) {
+                try {
+                    index(employer.getUserId(), application);
+                    indexed++;
+                } catch (Exception e) {
+                    System.err.println("[ResumeIndexer] Could not index application "
+                            + application.getApplicationId() + ": " + e.getMessage());
+                }
+            }
+        }
+        System.out.println("[ResumeIndexer] Indexed " + indexed + " resume(s)");
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private void drop(Application application) {
+        dropped.incrementAndGet();
+        if (droppedApplications.size() < MAX_DROPPED) {
+            droppedApplications.put(application.getApplicationId(), application);
+        } else {
+            droppedOverflow = true;
+        }
+    }
+
+    private void index(int employerId, Application application) throws Exception {
+        String key = application.getResumePath();
+        String text;
+        synchronized (textCache) {
+            text = textCache.get(key);
+        }
+        if (text == null) {
+            Path file = ResumeStore.getInstance().resolve(key);
+            if (file == null || !Files.isRegularFile(file)) {
+                return;
+            }
+            text = ResumeTextExtractor.extract(file);
+            synchronized (textCache) {
+                textCache.put(key, text);
+            }
+        }
+        CandidateIndex.getInstance().add(employerId, application, text);
+    }
+
+    private final class IndexTask implements Runnable {
+        final Application application;
+
+        IndexTask(Application application) {
+            this.application = application;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Job job = new JobDAO().getJobById(application.getJobId());
+                if (job == null) {
+                    return;
+                }
+                index(job.getEmployerId(), application);
+            } catch (Exception e) {
+                System.err.println("[ResumeIndexer] Could not index application "
+                        + application.getApplicationId() + ": " + e.getMessage());
+            }
+        }
+    }
+}
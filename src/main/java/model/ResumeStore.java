@@ -0,0 +1,239 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed resume storage outside the webapp, so redeploys keep the
+ * files. An upload is streamed to a temp file while it is hashed, then moved
+ * to sha256/ab/cd/&lt;hash&gt;.&lt;ext&gt;; the two-level fan-out keeps every
+ * directory small, and a second upload of the same file reuses the first.
+ * applications.resume_path holds that key, and resume_blobs counts the
+ * applications that point at each blob (maintained by ApplicationDAO).
+ * store() records the blob on shard 0 at zero references before it returns,
+ * so an upload whose application is never inserted still leaves a row to
+ * collect. Blobs whose count dropped to zero are removed by collectGarbage()
+ * once they have not been touched for a grace period. store() and
+ * collectGarbage() both hold the blob's shard 0 row lock while they touch
+ * the file, so a concurrent re-upload of the same file never loses its blob.
+ */
+public class ResumeStore {
+    private static final ResumeStore INSTANCE = new ResumeStore(Paths.get(AppConfig.get("resumes.dir",
+            System.getProperty("user.home") + "/jobmanagement/resumes")));
+    private static final String KEY_PREFIX = "sha256/";
+    private static final Pattern KEY = Pattern.compile("sha256/[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}\\.(pdf|doc|docx|txt|bin)");
+    private static final long GC_GRACE_MS = 60 * 60_000;
+
+    private final Path root;
+
+    ResumeStore(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public static ResumeStore getInstance() {
+        return INSTANCE;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /** Stores the stream and returns its key; identical content always yields the same key. */
+    public String store(InputStream in, String submittedFileName) throws IOException, SQLException {
+        Path tmpDir = Files.createDirectories(root.resolve("tmp"));
+        Path tmp = Files.createTempFile(tmpDir, "upload", ".part");
+        try {
+            MessageDigest digest = sha256();
+            try (DigestInputStream hashing = new DigestInputStream(in, digest);
+                 OutputStream out = Files.newOutputStream(tmp)) {
+                hashing.transferTo(out);
+            }
+            String key = KEY_PREFIX + fanOut(toHex(digest.digest())) + "." + extension(submittedFileName);
+            Path target = root.resolve(key);
+            try (Connection conn = DatabaseUtil.getShardConnection(0)) {
+                conn.setAutoCommit(false);
+                try {
+                    lockBlob(conn, key);
+                    if (Files.exists(target)) {
+                        // Already stored; refresh the mtime so garbage collection leaves it alone
+                        Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+                    } else {
+                        Files.createDirectories(target.getParent());
+                        try {
+                            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                        } catch (AtomicMoveNotSupportedException e) {
+                            Files.move(tmp, target);
+                        } catch (FileAlreadyExistsException e) {
+                            /* the same file was stored concurrently */
+                        }
+                    }
+                    conn.commit();
+                } catch (SQLException | IOException e) {
+                    conn.rollback();
+                    throw e;
+                }
+            }
+            return key;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    public static boolean isKey(String resumePath) {
+        return resumePath != null && resumePath.startsWith(KEY_PREFIX);
+    }
+
+    /** The file for a key, or null if the key is malformed; never resolves outside the store. */
+    public Path resolve(String key) {
+        if (key == null || !KEY.matcher(key).matches()) {
+            return null;
+        }
+        return root.resolve(key);
+    }
+
+    // The content hash embedded in a key
+    public static String hashOf(String key) {
+        String name = key.substring(key.lastIndexOf('/') + 1);
+        return name.substring(0, name.indexOf('.'));
+    }
+
+    /**
+     * Deletes blobs no application references any more; returns how many were
+     * removed. Each shard counts the references from its own applications, so
+     * a file is only deleted once no shard holds one.
+     */
+    public int collectGarbage() throws SQLException, IOException {
+        Set<String> candidates = new LinkedHashSet<>(ShardRouter.fanOutAll(shard -> {
+            List<String> keys = new ArrayList<>();
+            try (Connection conn = DatabaseUtil.getShardConnection(shard);
+                 PreparedStatement stmt = conn.prepareStatement("SELECT blob_key FROM resume_blobs WHERE ref_count <= 0");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    keys.add(rs.getString(1));
+                }
+            }
+            return keys;
+        }));
+        int removed = 0;
+        for (String key : candidates) {
+            if (collect(key)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    // Deletes one blob if it is past the grace period and no shard references it
+    private boolean collect(String key) throws SQLException, IOException {
+        Path file = resolve(key);
+        long cutoff = System.currentTimeMillis() - GC_GRACE_MS;
+        try (Connection lockConn = DatabaseUtil.getShardConnection(0)) {
+            lockConn.setAutoCommit(false);
+            try {
+                // The lock store() takes: no upload of this blob can complete until we are done
+                lockBlob(lockConn, key);
+                if (file != null && Files.exists(file) && Files.getLastModifiedTime(file).toMillis() > cutoff) {
+                    lockConn.commit();
+                    return false;
+                }
+                boolean referenced = false;
+                for (int shard = 0; shard < DatabaseUtil.getShardCount(); shard++) {
+                    if (shard == 0) {
+                        referenced |= releaseIfUnreferenced(lockConn, key);
+                    } else {
+                        try (Connection conn = DatabaseUtil.getShardConnection(shard)) {
+                            referenced |= releaseIfUnreferenced(conn, key);
+                        }
+                    }
+                }
+                boolean deleted = !referenced && file != null && Files.deleteIfExists(file);
+                lockConn.commit();
+                return deleted;
+            } catch (SQLException | IOException e) {
+                lockConn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    // Drops the shard's row for the blob if it is at zero; true if the shard still references it
+    private static boolean releaseIfUnreferenced(Connection conn, String key) throws SQLException {
+        try (PreparedStatement delete = conn.prepareStatement(
+                     "DELETE FROM resume_blobs WHERE blob_key = ? AND ref_count <= 0");
+             PreparedStatement check = conn.prepareStatement(
+                     "SELECT 1 FROM resume_blobs WHERE blob_key = ?")) {
+            delete.setString(1, key);
+            delete.executeUpdate();
+            check.setString(1, key);
+            try (ResultSet rs = check.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    // Takes the blob's row lock on shard 0, creating the row at zero references if needed
+    private static void lockBlob(Connection conn, String key) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO resume_blobs (blob_key, ref_count) "
+                + "VALUES (?, 0) ON DUPLICATE KEY UPDATE blob_key = blob_key")) {
+            stmt.setString(1, key);
+            stmt.executeUpdate();
+        }
+    }
+
+    /** The submitted file name without any client-side directories, cut to fit resume_name; null if blank. */
+    public static String displayName(String submittedFileName) {
+        if (submittedFileName == null) {
+            return null;
+        }
+        String name = submittedFileName.substring(Math.max(submittedFileName.lastIndexOf('/'),
+                submittedFileName.lastIndexOf('\\')) + 1).trim();
+        if (name.isEmpty()) {
+            return null;
+        }
+        return name.length() > 255 ? name.substring(name.length() - 255) : name;
+    }
+
+    private static String fanOut(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    private static String extension(String fileName) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        String ext = name.substring(name.lastIndexOf('.') + 1);
+        return ext.equals("pdf") || ext.equals("doc") || ext.equals("docx") || ext.equals("txt") ? ext : "bin";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.hwpf.extractor.WordExtractor;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+
+/**
+ * Plain text from a stored resume, for indexing only. PDF goes through
+ * PDFBox, which honours font encodings and ToUnicode maps (so Word and Google
+ * Docs exports with CID fonts come out as text); DOCX and legacy DOC go
+ * through POI, and TXT is decoded as UTF-8. Anything else is reduced to its
+ * runs of printable characters. Only the first MAX_PDF_PAGES pages of a PDF
+ * are read, with PDFBox buffering in a temp file rather than the heap.
+ */
+final class ResumeTextExtractor {
+    private static final int MAX_TEXT = 200_000;
+    private static final int MAX_PDF_PAGES = 50;
+
+    private ResumeTextExtractor() {}
+
+    static String extract(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+        String text;
+        if (name.endsWith(".docx")) {
+            text = docx(file);
+        } else if (name.endsWith(".doc")) {
+            text = doc(file);
+        } else if (name.endsWith(".pdf")) {
+            text = pdf(file);
+        } else if (name.endsWith(".txt")) {
+            text = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } else {
+            text = printableRuns(Files.readAllBytes(file));
+        }
+        return text.length() > MAX_TEXT ? text.substring(0, MAX_TEXT) : text;
+    }
+
+    private static String docx(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             XWPFWordExtractor extractor = new XWPFWordExtractor(new XWPFDocument(in))) {
+            return extractor.getText();
+        }
+    }
+
+    private static String doc(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+             WordExtractor extractor = new WordExtractor(in)) {
+            return extractor.getText();
+        }
+    }
+
+    private static String pdf(Path file) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile(), IOUtils.createTempFileOnlyStreamCache())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true);
+            stripper.setEndPage(MAX_PDF_PAGES);
+            return stripper.getText(document);
+        }
+    }
+
+    private static String printableRuns(byte[] data) {
+        StringBuilder text = new StringBuilder();
+        StringBuilder run = new StringBuilder();
+        for (int i = 0; i <= data.length && text.length() < MAX_TEXT; i++) {
+            int b = i < data.length ? data[i] & 0xFF : 0;
+            if (b >= 0x20 && b < 0x7F) {
+                run.append((char) b);
+            } else if (b == 0 && run.length() > 0 && i + 1 < data.length && (data[i + 1] & 0xFF) >= 0x20) {
+                continue; // UTF-16LE text in Word binaries interleaves zero bytes
+            } else {
+                if (run.length() >= 4) {
+                    text.append(run).append(' ');
+                }
+                run.setLength(0);
+            }
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,14 @@
+package model;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a ResultSet. Mappers are created per ResultSet by the
+ * DAOs after resolving column indexes from its metadata, so mapping a row is
+ * only index-based getters.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    T mapRow(ResultSet rs) throws SQLException;
+}
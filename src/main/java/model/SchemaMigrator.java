@@ -0,0 +1,213 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned SQL scripts under db/migration (listed in index.txt)
+ * that the database has not seen yet, and records each one in schema_version.
+ * A MySQL named lock keeps nodes that start at the same time from racing.
+ */
+public class SchemaMigrator {
+    private static final String MIGRATION_DIR = "db/migration/";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final String LOCK_NAME = "jobmanagement_schema_migration";
+    private static final int LOCK_TIMEOUT_SEC = 60;
+    // Objects that already exist because they were created by hand before migrations
+    private static final int ER_TABLE_EXISTS = 1050;
+    private static final int ER_DUP_FIELDNAME = 1060;
+    private static final int ER_DUP_KEYNAME = 1061;
+
+    /** Runs pending migrations on the given connection's database; returns how many were applied. */
+    public int migrate(Connection conn) throws SQLException, IOException {
+        List<Migration> migrations = loadMigrations();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version ("
+                    + "version INT PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, "
+                    + "checksum VARCHAR(64) NOT NULL, "
+                    + "applied_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP)");
+        }
+
+        acquireLock(conn);
+        try {
+            Map<Integer, String> applied = appliedVersions(conn);
+            int count = 0;
+            for (Migration migration : migrations) {
+                String checksum = applied.get(migration.version);
+                if (checksum != null) {
+                    if (!checksum.equals(migration.checksum)) {
+                        System.err.println("[SchemaMigrator] V" + migration.version
+                                + " was changed after it was applied; the database keeps the old version");
+                    }
+                    continue;
+                }
+                apply(conn, migration);
+                count++;
+            }
+            return count;
+        } finally {
+            releaseLock(conn);
+        }
+    }
+
+    private void apply(Connection conn, Migration migration) throws SQLException {
+        System.out.println("[SchemaMigrator] Applying V" + migration.version + " " + migration.description);
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : migration.statements) {
+                try {
+                    stmt.execute(sql);
+                } catch (SQLException e) {
+                    int code = e.getErrorCode();
+                    if (code == ER_TABLE_EXISTS || code == ER_DUP_FIELDNAME || code == ER_DUP_KEYNAME) {
+                        System.out.println("[SchemaMigrator] Skipping, already present: " + e.getMessage());
+                    } else {
+                        throw new SQLException("Migration V" + migration.version + " failed on: " + sql, e);
+                    }
+                }
+            }
+        }
+        String insert = "INSERT INTO schema_version (version, description, checksum) VALUES (?, ?, ?)";
+        try (PreparedStatement stmt = conn.prepareStatement(insert)) {
+            stmt.setInt(1, migration.version);
+            stmt.setString(2, migration.description);
+            stmt.setString(3, migration.checksum);
+            stmt.executeUpdate();
+        }
+    }
+
+    private Map<Integer, String> appliedVersions(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+        return applied;
+    }
+
+    private void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.setInt(2, LOCK_TIMEOUT_SEC);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for the schema migration lock");
+                }
+            }
+        }
+    }
+
+    private void releaseLock(Connection conn) {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            stmt.setString(1, LOCK_NAME);
+            stmt.executeQuery().close();
+        } catch (SQLException e) {
+            /* ignored: the lock is released when the session ends anyway */
+        }
+    }
+
+    private List<Migration> loadMigrations() throws IOException {
+        List<Migration> migrations = new ArrayList<>();
+        int lastVersion = 0;
+        for (String fileName : readLines(MIGRATION_DIR + "index.txt")) {
+            Matcher m = FILE_NAME.matcher(fileName);
+            if (!m.matches()) {
+                throw new IOException("Bad migration file name: " + fileName);
+            }
+            int version = Integer.parseInt(m.group(1));
+            if (version <= lastVersion) {
+                throw new IOException("Migrations must be listed in increasing version order: " + fileName);
+            }
+            lastVersion = version;
+            List<String> lines = readLines(MIGRATION_DIR + fileName);
+            migrations.add(new Migration(version, m.group(2).replace('_', ' '), splitStatements(lines), checksum(lines)));
+        }
+        return migrations;
+    }
+
+    // Statements end with ';' at the end of a line; '--' comment lines and blank lines are dropped
+    private static List<String> splitStatements(List<String> lines) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : lines) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (current.toString().trim().length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static List<String> readLines(String resource) throws IOException {
+        InputStream in = SchemaMigrator.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IOException("Migration resource not found: " + resource);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (resource.endsWith("index.txt")) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.startsWith("#")) continue;
+                }
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static String checksum(List<String> lines) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String line : lines) {
+                digest.update(line.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final List<String> statements;
+        final String checksum;
+
+        Migration(int version, String description, List<String> statements, String checksum) {
+            this.version = version;
+            this.description = description;
+            this.statements = statements;
+            this.checksum = checksum;
+        }
+    }
+}
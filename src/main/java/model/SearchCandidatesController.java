@@ -0,0 +1,40 @@
+package model;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.List;
+
+/** Searches the resumes sent to the employer's own jobs, served from CandidateIndex. */
+@WebServlet("/searchCandidates")
+public class SearchCandidatesController extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        SessionUser user = Sessions.currentUser(request);
+
+        if (user == null || !user.getRole().equals("EMPLOYER")) {
+            response.sendRedirect("login.jsp");
+            return;
+        }
+
+        String query = request.getParameter("q");
+        List<Application> candidates;
+        try {
+            candidates = query != null
+                    ? CandidateIndex.getInstance().search(user.getUserId(), query, PageRequest.MAX_PAGE_SIZE)
+                    : Collections.emptyList();
+        } catch (SQLException e) {
+            throw new ServletException("Candidate search failed", e);
+        }
+
+        request.setAttribute("candidates", candidates);
+        request.setAttribute("searchQuery", query != null ? query : "");
+        request.getRequestDispatcher("/searchCandidates.jsp").forward(request, response);
+    }
+}
@@ -0,0 +1,62 @@
+package model;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+import jakarta.servlet.annotation.*;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Full-text job search served from JobSearchIndex. Renders viewJobs.jsp, or
+ * JSON when format=json is given (for type-ahead callers).
+ */
+@WebServlet("/searchJobs")
+public class SearchJobsController extends HttpServlet {
+    private static final long serialVersionUID = 1L;
+
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        SessionUser user = Sessions.currentUser(request);
+
+        if (user == null) {
+            response.sendRedirect(request.getContextPath() + "/login.jsp");
+            return;
+        }
+
+        String query = request.getParameter("q");
+        int limit = PageRequest.DEFAULT_PAGE_SIZE;
+        try {
+            String limitParam = request.getParameter("limit");
+            if (limitParam != null && !limitParam.isEmpty()) {
+                limit = Math.max(1, Math.min(Integer.parseInt(limitParam), PageRequest.MAX_PAGE_SIZE));
+            }
+        } catch (NumberFormatException e) {
+            /* keep the default */
+        }
+
+        List<Job> jobs = JobSearchIndex.getInstance().search(query, limit);
+
+        if ("json".equalsIgnoreCase(request.getParameter("format"))) {
+            response.setContentType("application/json");
+            response.setCharacterEncoding("UTF-8");
+            PrintWriter out = response.getWriter();
+            out.print("[");
+            for (int i = 0; i < jobs.size(); i++) {
+                Job job = jobs.get(i);
+                if (i > 0) out.print(',');
+                out.print("{\"jobId\":" + job.getJobId()
+                        + ",\"title\":" + Json.string(job.getTitle())
+                        + ",\"location\":" + Json.string(job.getLocation())
+                        + ",\"salary\":" + job.getSalary() + "}");
+            }
+            out.print("]");
+            return;
+        }
+
+        request.setAttribute("jobs", jobs);
+        request.setAttribute("searchQuery", query != null ? query : "");
+        request.getRequestDispatcher("/viewJobs.jsp").forward(request, response);
+    }
+}
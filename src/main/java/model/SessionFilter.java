@@ -0,0 +1,35 @@
+package model;
+
+import jakarta.servlet.*;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+/** Resolves the session cookie for every request before any servlet or JSP runs. */
+@WebFilter(urlPatterns = "/*", asyncSupported = true)
+public class SessionFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        // Stylesheets never need the user; skip the store lookup for them
+        if (httpRequest.getRequestURI().startsWith(httpRequest.getContextPath() + "/css/")) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            Sessions.resolve(httpRequest);
+        } catch (SessionStoreException e) {
+            throw new ServletException("Session lookup failed", e);
+        }
+        SessionUser user = Sessions.currentUser(httpRequest);
+        // Lets DatabaseUtil keep this user's reads on the primary right after their own writes
+        DatabaseUtil.bindUser(user != null ? user.getUserId() : null);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            DatabaseUtil.bindUser(null);
+        }
+    }
+}
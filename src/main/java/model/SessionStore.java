@@ -0,0 +1,21 @@
+package model;
+
+/**
+ * Where login sessions live, keyed by the opaque token in the session cookie.
+ * Pick an implementation with session.store: "memory" keeps sessions on this
+ * node only, "jdbc" shares them through the database so any node can serve
+ * any request.
+ */
+public interface SessionStore {
+
+    /** Starts a session for the user and returns its new token. */
+    String create(SessionUser user) throws SessionStoreException;
+
+    /** Returns the user for a live session, extending its idle timeout, or null. */
+    SessionUser get(String token) throws SessionStoreException;
+
+    void delete(String token) throws SessionStoreException;
+
+    /** Drops sessions idle for longer than the timeout. */
+    void purgeExpired() throws SessionStoreException;
+}
@@ -0,0 +1,10 @@
+package model;
+
+/** A session store could not be read or written. */
+public class SessionStoreException extends Exception {
+    private static final long serialVersionUID = 1L;
+
+    public SessionStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,30 @@
+package model;
+
+import java.io.Serializable;
+
+/**
+ * What a logged-in request needs to know about its user: id, role and display
+ * name. Kept small so it is cheap to store and share between nodes; load the
+ * full User from UserDAO when more is needed.
+ */
+public class SessionUser implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int userId;
+    private final String role;
+    private final String name;
+
+    public SessionUser(int userId, String role, String name) {
+        this.userId = userId;
+        this.role = role;
+        this.name = name;
+    }
+
+    public static SessionUser of(User user) {
+        return new SessionUser(user.getUserId(), user.getRole(), user.getName());
+    }
+
+    public int getUserId() { return userId; }
+    public String getRole() { return role; }
+    public String getName() { return name; }
+}
@@ -0,0 +1,130 @@
+package model;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Login sessions without the container HttpSession: the browser holds an
+ * opaque token cookie and the configured SessionStore maps it to a
+ * SessionUser. SessionFilter resolves the cookie once per request and exposes
+ * the user as the "user" request attribute for controllers and JSPs.
+ */
+public final class Sessions {
+    public static final String USER_ATTRIBUTE = "user";
+    private static final String RESOLVED_ATTRIBUTE = Sessions.class.getName() + ".resolved";
+    private static final String COOKIE_NAME = AppConfig.get("session.cookieName", "JMSESSION");
+    private static final long TIMEOUT_MS = AppConfig.getLong("session.timeoutMinutes", 30) * 60_000;
+    private static final long PURGE_INTERVAL_MS = 10 * 60_000;
+    private static final SessionStore STORE = createStore(AppConfig.get("session.store", "memory"));
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final AtomicLong lastPurge = new AtomicLong(System.currentTimeMillis());
+
+    private Sessions() {}
+
+    /** The logged-in user for this request, or null. */
+    public static SessionUser currentUser(HttpServletRequest request) {
+        if (request.getAttribute(RESOLVED_ATTRIBUTE) == null) {
+            try {
+                resolve(request);
+            } catch (SessionStoreException e) {
+                System.err.println("[Sessions] " + e.getMessage());
+                e.printStackTrace();
+                return null;
+            }
+        }
+        return (SessionUser) request.getAttribute(USER_ATTRIBUTE);
+    }
+
+    // Looks up the session cookie and sets the "user" request attribute
+    static void resolve(HttpServletRequest request) throws SessionStoreException {
+        request.setAttribute(RESOLVED_ATTRIBUTE, Boolean.TRUE);
+        String token = token(request);
+        SessionUser user = token != null ? STORE.get(token) : null;
+        if (user != null) {
+            request.setAttribute(USER_ATTRIBUTE, user);
+        } else {
+            request.removeAttribute(USER_ATTRIBUTE);
+        }
+    }
+
+    public static void login(HttpServletRequest request, HttpServletResponse response, User user)
+            throws SessionStoreException {
+        String old = token(request);
+        if (old != null) {
+            STORE.delete(old);
+        }
+        SessionUser sessionUser = SessionUser.of(user);
+        String token = STORE.create(sessionUser);
+        response.addCookie(cookie(request, token, -1));
+        request.setAttribute(RESOLVED_ATTRIBUTE, Boolean.TRUE);
+        request.setAttribute(USER_ATTRIBUTE, sessionUser);
+        purgeIfDue();
+    }
+
+    public static void logout(HttpServletRequest request, HttpServletResponse response)
+            throws SessionStoreException {
+        String token = token(request);
+        if (token != null) {
+            STORE.delete(token);
+            response.addCookie(cookie(request, "", 0));
+        }
+        request.removeAttribute(USER_ATTRIBUTE);
+    }
+
+    // 256 random bits, URL-safe so it needs no cookie quoting
+    static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static void purgeIfDue() {
+        long last = lastPurge.get();
+        long now = System.currentTimeMillis();
+        if (now - last > PURGE_INTERVAL_MS && lastPurge.compareAndSet(last, now)) {
+            try {
+                STORE.purgeExpired();
+            } catch (SessionStoreException e) {
+                System.err.println("[Sessions] " + e.getMessage());
+            }
+        }
+    }
+
+    private static String token(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Cookie cookie(HttpServletRequest request, String value, int maxAge) {
+        Cookie cookie = new Cookie(COOKIE_NAME, value);
+        String path = request.getContextPath();
+        cookie.setPath(path.isEmpty() ? "/" : path);
+        cookie.setHttpOnly(true);
+        cookie.setSecure(request.isSecure());
+        cookie.setAttribute("SameSite", "Lax");
+        cookie.setMaxAge(maxAge);
+        return cookie;
+    }
+
+    private static SessionStore createStore(String type) {
+        switch (type.toLowerCase()) {
+            case "jdbc":
+                return new JdbcSessionStore(TIMEOUT_MS);
+            case "memory":
+                return new InMemorySessionStore(TIMEOUT_MS);
+            default:
+                throw new IllegalStateException("Unknown session.store: " + type);
+        }
+    }
+}
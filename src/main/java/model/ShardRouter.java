@@ -0,0 +1,151 @@
+package model;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Places jobs and applications on shards by employer: an employer's jobs, and
+ * every application to them, live on shard shardForEmployer(employerId), a
+ * hash of the id modulo the shard count (user ids are handed out in plain
+ * sequence, so the hash is what spreads consecutive employers). Shard 0 is
+ * the primary database, which also keeps the global tables (users, sessions,
+ * schema_version). Each shard hands out job and application ids with
+ * auto-increment increment = shardCount and offset = shard + 1 (see
+ * DatabaseUtil), so the shard of a job or application can be read straight
+ * off its id.
+ *
+ * Turning sharding on for an existing database needs its rows moved to their
+ * employer's shard, with ids in this layout, beforehand.
+ */
+public final class ShardRouter {
+    private static volatile ExecutorService fanOutPool;
+
+    private ShardRouter() {}
+
+    /** A query run once per shard by fanOut. */
+    public interface ShardQuery<T> {
+        T run(int shard) throws SQLException;
+    }
+
+    public static boolean isSharded() {
+        return DatabaseUtil.getShardCount() > 1;
+    }
+
+    public static int shardForEmployer(int employerId) {
+        return shardForEmployer(employerId, DatabaseUtil.getShardCount());
+    }
+
+    static int shardForEmployer(int employerId, int shards) {
+        // MurmurHash3's 32-bit finalizer: every bit of the id affects the shard
+        int h = employerId;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return Math.floorMod(h, shards);
+    }
+
+    /** The shard that generated this job or application id. */
+    public static int shardForId(int id) {
+        return shardForId(id, DatabaseUtil.getShardCount());
+    }
+
+    static int shardForId(int id, int shards) {
+        return Math.floorMod(id - 1, shards);
+    }
+
+    // An updated job carries its employer; fall back to the id when it does not
+    public static int shardForJob(Job job) {
+        return job.getEmployerId() > 0 ? shardForEmployer(job.getEmployerId()) : shardForId(job.getJobId());
+    }
+
+    /**
+     * Runs the query on every shard in parallel and returns the results in
+     * shard order. The request's bound user comes along, so shard 0 reads keep
+     * their read-your-writes routing. The first failure is rethrown.
+     */
+    public static <T> List<T> fanOut(ShardQuery<T> query) throws SQLException {
+        int shards = DatabaseUtil.getShardCount();
+        List<T> results = new ArrayList<>(shards);
+        if (shards == 1) {
+            results.add(query.run(0));
+            return results;
+        }
+        Integer userId = DatabaseUtil.boundUser();
+        List<Future<T>> futures = new ArrayList<>(shards);
+        for (int shard = 1; shard < shards; shard++) {
+            int s = shard;
+            futures.add(pool().submit(() -> {
+                DatabaseUtil.bindUser(userId);
+                try {
+                    return query.run(s);
+                } finally {
+                    DatabaseUtil.bindUser(null);
+                }
+            }));
+        }
+        try {
+            results.add(query.run(0)); // shard 0 on the calling thread
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while querying shards", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException("Shard query failed", e.getCause());
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /** fanOut for list results, concatenated in shard order. */
+    public static <T> List<T> fanOutAll(ShardQuery<List<T>> query) throws SQLException {
+        List<T> all = new ArrayList<>();
+        for (List<T> part : fanOut(query)) {
+            all.addAll(part);
+        }
+        return all;
+    }
+
+    private static ExecutorService pool() {
+        ExecutorService p = fanOutPool;
+        if (p == null) {
+            synchronized (ShardRouter.class) {
+                p = fanOutPool;
+                if (p == null) {
+                    AtomicInteger count = new AtomicInteger();
+                    // Enough for a few concurrent fan-outs; each shard's own pool bounds the real load
+                    p = Executors.newFixedThreadPool(Math.max(4, (DatabaseUtil.getShardCount() - 1) * 4), r -> {
+                        Thread t = new Thread(r, "shard-fan-out-" + count.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+                    fanOutPool = p;
+                }
+            }
+        }
+        return p;
+    }
+
+    /** Stops the fan-out threads; called on undeploy. */
+    public static synchronized void shutdown() {
+        if (fanOutPool != null) {
+            fanOutPool.shutdownNow();
+            fanOutPool = null;
+        }
+    }
+}
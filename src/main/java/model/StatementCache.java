@@ -0,0 +1,169 @@
+package model;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL
+ * text. Callers get a proxy whose close() only clears parameters and open
+ * result sets, so the server-side statement is reused by the next borrower.
+ * A connection is used by one thread at a time, so no locking is needed.
+ */
+class StatementCache {
+    private final Connection physical;
+    private final int maxSize;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final LinkedHashMap<String, CachedStatement> statements;
+
+    StatementCache(Connection physical, int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.physical = physical;
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        CachedStatement cached = statements.get(key);
+        if (cached != null && !cached.inUse) {
+            hits.incrementAndGet();
+        } else if (cached == null) {
+            misses.incrementAndGet();
+            cached = new CachedStatement(physical.prepareStatement(sql, autoGeneratedKeys));
+            statements.put(key, cached);
+            evictOverflow();
+        } else {
+            // Same SQL prepared twice on one connection before the first was closed; don't share it
+            misses.incrementAndGet();
+            return physical.prepareStatement(sql, autoGeneratedKeys);
+        }
+        cached.inUse = true;
+        return cached.newHandle();
+    }
+
+    private void evictOverflow() {
+        Iterator<CachedStatement> it = statements.values().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            CachedStatement eldest = it.next();
+            it.remove();
+            eldest.evicted = true;
+            if (!eldest.inUse) {
+                eldest.closePhysical();
+            }
+        }
+    }
+
+    // Called when the connection goes back to the pool in case a borrower forgot to close a statement
+    void releaseAll() {
+        for (CachedStatement cached : statements.values()) {
+            if (cached.inUse) {
+                cached.logicalClose();
+            }
+        }
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    private static final class CachedStatement {
+        final PreparedStatement physical;
+        final List<ResultSet> openResults = new ArrayList<>();
+        boolean inUse;
+        boolean evicted;
+        Object currentHandle;
+
+        CachedStatement(PreparedStatement physical) {
+            this.physical = physical;
+        }
+
+        PreparedStatement newHandle() {
+            PreparedStatement handle = (PreparedStatement) Proxy.newProxyInstance(
+                    StatementCache.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new Handle(this));
+            currentHandle = handle;
+            return handle;
+        }
+
+        void logicalClose() {
+            for (ResultSet rs : openResults) {
+                try { rs.close(); } catch (SQLException e) { /* ignored */ }
+            }
+            openResults.clear();
+            try {
+                physical.clearParameters();
+                physical.clearBatch();
+            } catch (SQLException e) {
+                evicted = true;
+            }
+            inUse = false;
+            currentHandle = null;
+            if (evicted) {
+                closePhysical();
+            }
+        }
+
+        void closePhysical() {
+            try { physical.close(); } catch (SQLException e) { /* ignored */ }
+        }
+    }
+
+    private static final class Handle implements InvocationHandler {
+        private final CachedStatement cached;
+        private boolean closed;
+
+        Handle(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    // A stale handle must not release a statement that has since been handed out again
+                    if (!closed && cached.currentHandle == proxy) {
+                        cached.logicalClose();
+                    }
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed || cached.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + cached.physical + "]";
+                default:
+                    break;
+            }
+            if (closed || cached.currentHandle != proxy) {
+                throw new SQLException("Statement is closed");
+            }
+            Object result;
+            try {
+                result = method.invoke(cached.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) {
+                cached.openResults.add((ResultSet) result);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits free text into lower-case search terms: runs of letters and digits,
+ * with very common English words and single characters dropped. Indexing and
+ * querying must go through the same tokenizer so their terms line up.
+ */
+public final class TextTokenizer {
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it",
+            "of", "on", "or", "our", "that", "the", "this", "to", "we", "will", "with", "you", "your"));
+
+    private TextTokenizer() {}
+
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        StringBuilder term = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                term.append(Character.toLowerCase(c));
+            } else if (term.length() > 0) {
+                add(terms, term.toString());
+                term.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    private static void add(List<String> terms, String term) {
+        if (term.length() > 1 && !STOP_WORDS.contains(term)) {
+            terms.add(term);
+        }
+    }
+}
@@ -3,31 +3,57 @@ package model;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class UserDAO {
+    private static final String USER_COLUMNS = "user_id, name, contact_info, password, role, skills";
+
     public void addUser(User user) throws SQLException {
         String sql = "INSERT INTO users (name, contact_info, password, role, skills) VALUES (?, ?, ?, ?, ?)";
         try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setString(1, user.getName());
             stmt.setString(2, user.getContactInfo());
             stmt.setString(3, user.getPassword());
             stmt.setString(4, user.getRole());
             stmt.setString(5, user.getSkills());
             stmt.executeUpdate();
+
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    user.setUserId(rs.getInt(1));
+                }
+            }
         }
+        DatabaseUtil.recordWrite();
+        RecommendationEngine.getInstance().seekerChanged(user);
     }
 
     public User getUserByCredentials(String email, String password) throws SQLException {
-        String sql = "SELECT * FROM users WHERE contact_info = ? AND password = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        User user;
+        try (Connection conn = DatabaseUtil.getReadConnection()) {
+            user = getUserByCredentials(conn, email, password);
+        }
+        if (user == null) {
+            // Logging in right after registering can beat replication; confirm a miss on the primary
+            try (Connection conn = DatabaseUtil.getConnection()) {
+                user = getUserByCredentials(conn, email, password);
+            }
+        }
+        return user;
+    }
+
+    private User getUserByCredentials(Connection conn, String email, String password) throws SQLException {
+        String sql = "SELECT " + USER_COLUMNS + " FROM users WHERE contact_info = ? AND password = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, email);
             stmt.setString(2, password);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapUser(rs);
+                    return userMapper(rs).mapRow(rs);
                 }
             }
         }
@@ -44,17 +70,20 @@ public class UserDAO {
             stmt.setInt(4, user.getUserId());
             stmt.executeUpdate();
         }
+        DatabaseUtil.recordWrite();
+        RecommendationEngine.getInstance().seekerChanged(user);
     }
 
     public List<User> getUsersByRole(String role) throws SQLException {
         List<User> users = new ArrayList<>();
-        String sql = "SELECT * FROM users WHERE role = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        String sql = "SELECT " + USER_COLUMNS + " FROM users WHERE role = ?";
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setString(1, role);
             try (ResultSet rs = stmt.executeQuery()) {
+                RowMapper<User> mapper = userMapper(rs);
                 while (rs.next()) {
-                    users.add(mapUser(rs));
+                    users.add(mapper.mapRow(rs));
                 }
             }
         }
@@ -62,27 +91,62 @@ public class UserDAO {
     }
 
     public User getUserById(int userId) throws SQLException {
-        String sql = "SELECT * FROM users WHERE user_id = ?";
-        try (Connection conn = DatabaseUtil.getConnection();
+        String sql = "SELECT " + USER_COLUMNS + " FROM users WHERE user_id = ?";
+        try (Connection conn = DatabaseUtil.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setInt(1, userId);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return mapUser(rs);
+                    return userMapper(rs).mapRow(rs);
                 }
             }
         }
         return null;
     }
 
-    private User mapUser(ResultSet rs) throws SQLException {
-        User user = new User();
-        user.setUserId(rs.getInt("user_id"));
-        user.setName(rs.getString("name"));
-        user.setContactInfo(rs.getString("contact_info"));
-        user.setPassword(rs.getString("password"));
-        user.setRole(rs.getString("role"));
-        user.setSkills(rs.getString("skills"));
-        return user;
+    // Names for a set of user ids, in one query
+    public Map<Integer, String> getNames(Collection<Integer> userIds) throws SQLException {
+        Map<Integer, String> names = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return names;
+        }
+        StringBuilder sql = new StringBuilder("SELECT user_id, name FROM users WHERE user_id IN (");
+        for (int i = 0; i < userIds.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(")");
+        try (Connection conn = DatabaseUtil.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+            int index = 1;
+            for (int userId : userIds) {
+                stmt.setInt(index++, userId);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    names.put(rs.getInt(1), rs.getString(2));
+                }
+            }
+        }
+        return names;
+    }
+
+    static RowMapper<User> userMapper(ResultSet rs) throws SQLException {
+        ResultColumns cols = ResultColumns.of(rs);
+        int userId = cols.require("user_id");
+        int name = cols.require("name");
+        int contactInfo = cols.require("contact_info");
+        int password = cols.require("password");
+        int role = cols.require("role");
+        int skills = cols.require("skills");
+        return row -> {
+            User user = new User();
+            user.setUserId(row.getInt(userId));
+            user.setName(row.getString(name));
+            user.setContactInfo(row.getString(contactInfo));
+            user.setPassword(row.getString(password));
+            user.setRole(row.getString(role));
+            user.setSkills(row.getString(skills));
+            return user;
+        };
     }
 }
\ No newline at end of file
@@ -7,22 +7,25 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.util.List;
 
-@WebServlet("/viewApplications")
-public class ViewApplicationsController extends HttpServlet {
+@WebServlet(value = "/viewApplications", asyncSupported = true)
+public class ViewApplicationsController extends AsyncDbServlet {
     /**
 	 * 
 	 */
 	private static final long serialVersionUID = 1L;
 
-	protected void doGet(HttpServletRequest request, HttpServletResponse response)
+	protected void handleGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
-        HttpSession session = request.getSession();
-        User user = (User) session.getAttribute("user");
+        SessionUser user = Sessions.currentUser(request);
 
         if (user == null) {
             response.sendRedirect(request.getContextPath() + "/login.jsp");
             return;
         }
+        // Nothing this user sees here has changed since their copy: answer before touching the database
+        if (DataVersions.notModified(request, response, DataVersions.etag(request, user))) {
+            return;
+        }
 
         try {
             ApplicationDAO appDAO = new ApplicationDAO();
@@ -31,11 +34,15 @@ public class ViewApplicationsController extends HttpServlet {
             if ("JOB_SEEKER".equals(user.getRole())) {
                 applications = appDAO.getApplicationsByApplicant(user.getUserId());
             } else {
-                applications = appDAO.getApplicationsByEmployer(user.getUserId());
+                PageRequest pageRequest = PageRequest.fromRequest(request);
+                Page<Application> page = appDAO.getApplicationsByEmployer(user.getUserId(), pageRequest);
+                applications = page.getItems();
+                request.setAttribute("resultPage", page);
+                request.setAttribute("pageRequest", pageRequest);
             }
 
             request.setAttribute("applications", applications);
-            request.getRequestDispatcher("viewApplications.jsp").forward(request, response);
+            forward(request, response, "viewApplications.jsp");
         } catch (SQLException e) {
             throw new ServletException("Database error", e);
         }
@@ -5,50 +5,41 @@ import jakarta.servlet.http.*;
 import jakarta.servlet.annotation.*;
 import java.io.IOException;
 import java.sql.SQLException;
-import java.util.List;
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.Set;
 
-@WebServlet("/viewJobs")
-public class ViewJobsController extends HttpServlet {
+@WebServlet(value = "/viewJobs", asyncSupported = true)
+public class ViewJobsController extends AsyncDbServlet {
     private static final long serialVersionUID = 1L;
 
-    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+    protected void handleGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
         
-        HttpSession session = request.getSession();
-        User user = (User) session.getAttribute("user");
+        SessionUser user = Sessions.currentUser(request);
 
         if (user == null) {
             response.sendRedirect(request.getContextPath() + "/login.jsp");
             return;
         }
+        // Nothing this user sees here has changed since their copy: answer before touching the database
+        if (DataVersions.notModified(request, response, DataVersions.etag(request, user))) {
+            return;
+        }
 
         try {
             JobDAO jobDAO = new JobDAO();
-            List<Job> jobs;
+            PageRequest pageRequest = PageRequest.fromRequest(request);
+            Page<Job> page;
 
             // If the user is an employer, they see only their jobs.
             if ("EMPLOYER".equalsIgnoreCase(user.getRole())) {
-                jobs = jobDAO.getJobsByEmployer(user.getUserId());
-            } else { // For job seekers, filter out jobs they've applied to.
-                List<Job> allJobs = jobDAO.getAllJobs();
-                List<Application> applications = new ApplicationDAO().getApplicationsByApplicant(user.getUserId());
-                Set<Integer> appliedJobIds = new HashSet<>();
-                for (Application app : applications) {
-                    appliedJobIds.add(app.getJobId());
-                }
-                jobs = new ArrayList<>();
-                for (Job job : allJobs) {
-                    if (!appliedJobIds.contains(job.getJobId())) {
-                        jobs.add(job);
-                    }
-                }
+                page = jobDAO.getJobsByEmployer(user.getUserId(), pageRequest);
+            } else { // For job seekers, only jobs they haven't applied to yet.
+                page = jobDAO.getOpenJobsForApplicant(user.getUserId(), pageRequest);
             }
 
-            request.setAttribute("jobs", jobs);
-            request.getRequestDispatcher("/viewJobs.jsp").forward(request, response);
+            request.setAttribute("jobs", page.getItems());
+            request.setAttribute("resultPage", page);
+            request.setAttribute("pageRequest", pageRequest);
+            forward(request, response, "/viewJobs.jsp");
         } catch (SQLException e) {
             throw new ServletException("Database error", e);
         }
@@ -0,0 +1,29 @@
+-- Baseline schema as used by UserDAO, JobDAO and ApplicationDAO.
+-- IF NOT EXISTS keeps this a no-op on databases created by hand before migrations existed.
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id      INT AUTO_INCREMENT PRIMARY KEY,
+    name         VARCHAR(100) NOT NULL,
+    contact_info VARCHAR(255) NOT NULL,
+    password     VARCHAR(255) NOT NULL,
+    role         VARCHAR(20)  NOT NULL,
+    skills       TEXT
+);
+
+CREATE TABLE IF NOT EXISTS jobs (
+    job_id      INT AUTO_INCREMENT PRIMARY KEY,
+    title       VARCHAR(255)   NOT NULL,
+    description TEXT,
+    location    VARCHAR(255),
+    salary      DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    employer_id INT            NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS applications (
+    application_id   INT AUTO_INCREMENT PRIMARY KEY,
+    job_id           INT          NOT NULL,
+    applicant_id     INT          NOT NULL,
+    status           VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
+    application_date TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    resume_path      VARCHAR(512)
+);
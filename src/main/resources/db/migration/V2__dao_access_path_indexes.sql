@@ -0,0 +1,25 @@
+-- Indexes backing the DAO queries, so none of them needs a full table scan.
+
+-- Login: UserDAO.getUserByCredentials
+CREATE INDEX idx_users_contact_info ON users (contact_info);
+
+-- UserDAO.getUsersByRole
+CREATE INDEX idx_users_role ON users (role);
+
+-- JobDAO.getJobsByEmployer, newest first (keyset on job_id)
+CREATE INDEX idx_jobs_employer ON jobs (employer_id, job_id);
+
+-- Employer job listings sorted by salary / title (keyset on (sort, job_id))
+CREATE INDEX idx_jobs_employer_salary ON jobs (employer_id, salary, job_id);
+CREATE INDEX idx_jobs_employer_title ON jobs (employer_id, title, job_id);
+
+-- All-jobs listings sorted by salary / title
+CREATE INDEX idx_jobs_salary ON jobs (salary, job_id);
+CREATE INDEX idx_jobs_title ON jobs (title, job_id);
+
+-- ApplicationDAO.getApplicationsByApplicant and the NOT EXISTS probe in
+-- JobDAO.getOpenJobsForApplicant (a.job_id = ? AND a.applicant_id = ?)
+CREATE INDEX idx_applications_applicant_job ON applications (applicant_id, job_id);
+
+-- Employer-side joins from jobs, the PENDING filter and the per-status GROUP BY
+CREATE INDEX idx_applications_job_status ON applications (job_id, status, application_id);
@@ -0,0 +1,12 @@
+-- Login sessions shared between nodes (JdbcSessionStore, session.store=jdbc).
+-- token_hash is the base64url SHA-256 of the cookie token; expires_at is epoch millis.
+CREATE TABLE IF NOT EXISTS sessions (
+    token_hash CHAR(43)     NOT NULL PRIMARY KEY,
+    user_id    INT          NOT NULL,
+    role       VARCHAR(20)  NOT NULL,
+    name       VARCHAR(100),
+    expires_at BIGINT       NOT NULL
+);
+
+-- JdbcSessionStore.purgeExpired
+CREATE INDEX idx_sessions_expires_at ON sessions (expires_at);
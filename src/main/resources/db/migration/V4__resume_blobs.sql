@@ -0,0 +1,10 @@
+-- Reference counts for content-addressed resumes (ResumeStore). blob_key is the
+-- value stored in applications.resume_path; rows at zero are garbage collected.
+CREATE TABLE IF NOT EXISTS resume_blobs (
+    blob_key   VARCHAR(100) NOT NULL PRIMARY KEY,
+    ref_count  INT          NOT NULL DEFAULT 0,
+    created_at TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- ResumeStore.collectGarbage
+CREATE INDEX idx_resume_blobs_ref_count ON resume_blobs (ref_count);
@@ -0,0 +1,3 @@
+-- ApplicationDAO.canAccessResume (download authorization). Keys are at most
+-- 82 characters, so a 100-character prefix covers them exactly.
+CREATE INDEX idx_applications_resume_path ON applications (resume_path(100));
@@ -0,0 +1,19 @@
+-- CandidateIndex: the distinct search terms of each indexed resume, kept in the
+-- database so every node searches the same index. The binary
+-- collation keeps terms that differ only in accents apart and makes a prefix
+-- LIKE a plain range scan.
+CREATE TABLE IF NOT EXISTS resume_terms (
+    employer_id    INT         NOT NULL,
+    term           VARCHAR(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    application_id INT         NOT NULL,
+    PRIMARY KEY (employer_id, term, application_id)
+);
+
+-- Matching one application's terms during a search, and removing them
+CREATE INDEX idx_resume_terms_application ON resume_terms (application_id, term);
+
+-- Applications whose resume has been indexed, including those that yielded no terms
+CREATE TABLE IF NOT EXISTS resume_index (
+    application_id INT       NOT NULL PRIMARY KEY,
+    indexed_at     TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,13 @@
+-- JobChangeFeed: nodes pick up jobs written elsewhere by reading the rows
+-- changed since their last poll, instead of reloading the whole table.
+ALTER TABLE jobs ADD COLUMN updated_at TIMESTAMP(3) NOT NULL
+    DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
+CREATE INDEX idx_jobs_updated_at ON jobs (updated_at);
+
+-- Deleted jobs leave no row behind, so their ids are recorded here for the
+-- feed; rows older than a day are purged by the maintenance task.
+CREATE TABLE IF NOT EXISTS job_deletions (
+    job_id     INT          NOT NULL PRIMARY KEY,
+    deleted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+CREATE INDEX idx_job_deletions_deleted_at ON job_deletions (deleted_at);
@@ -0,0 +1,3 @@
+-- The file name a resume was uploaded under, sent back in Content-Disposition on
+-- download; blobs themselves are named by content hash. NULL on older rows.
+ALTER TABLE applications ADD COLUMN resume_name VARCHAR(255) NULL;
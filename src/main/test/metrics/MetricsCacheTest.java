@@ -0,0 +1,119 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class MetricsCacheTest {
+    @TempDir
+    Path tmp;
+
+    @Test
+    public void changedLogIsReparsed() throws IOException {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        Path log = writeLog(logs.resolve("gha-deploy-1.log"), "10");
+        MetricsCache cache = new MetricsCache(tmp.resolve("cache.bin"));
+        assertEquals(10, cache.refresh(logs).getRecords().get(0).getTotalPipelineTime());
+
+        writeLog(log, "125");
+        assertEquals(125, cache.refresh(logs).getRecords().get(0).getTotalPipelineTime());
+        assertEquals(125, cache.update(logs, Collections.singleton(log)).getRecords().get(0).getTotalPipelineTime());
+    }
+
+    @Test
+    public void unchangedLogIsNotReparsed() throws IOException {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        Path log = writeLog(logs.resolve("gha-deploy-1.log"), "10");
+        MetricsCache cache = new MetricsCache(tmp.resolve("cache.bin"));
+        cache.refresh(logs);
+
+        // Same size and mtime: taken as unchanged, so the cached value stands
+        rewriteInPlace(log, "11");
+        assertEquals(10, cache.refresh(logs).getRecords().get(0).getTotalPipelineTime());
+        // A new instance reads the same entry back from the file
+        assertEquals(10, new MetricsCache(tmp.resolve("cache.bin")).refresh(logs).getRecords().get(0).getTotalPipelineTime());
+    }
+
+    @Test
+    public void corruptCacheFileIsRebuilt() throws IOException {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        Path log = writeLog(logs.resolve("gha-deploy-1.log"), "10");
+        Path file = tmp.resolve("cache.bin");
+        Files.write(file, "not a metrics cache".getBytes(StandardCharsets.UTF_8));
+
+        ParseResult result = new MetricsCache(file).refresh(logs);
+        assertEquals(1, result.getRecords().size());
+        assertEquals(10, result.getRecords().get(0).getTotalPipelineTime());
+        assertFalse(result.hasFailures());
+
+        // The rewritten file is valid: a new instance serves the entry without re-parsing
+        rewriteInPlace(log, "11");
+        assertEquals(10, new MetricsCache(file).refresh(logs).getRecords().get(0).getTotalPipelineTime());
+    }
+
+    @Test
+    public void truncatedCacheFileIsRebuilt() throws IOException {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        writeLog(logs.resolve("gha-deploy-1.log"), "10");
+        writeLog(logs.resolve("gha-deploy-2.log"), "20");
+        Path file = tmp.resolve("cache.bin");
+        new MetricsCache(file).refresh(logs);
+        byte[] saved = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(saved, saved.length / 2));
+
+        ParseResult result = new MetricsCache(file).refresh(logs);
+        assertEquals(2, result.getRecords().size());
+        assertEquals(10, result.getRecords().get(0).getTotalPipelineTime());
+        assertEquals(20, result.getRecords().get(1).getTotalPipelineTime());
+    }
+
+    @Test
+    public void deletedLogIsDropped() throws IOException {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        Path first = writeLog(logs.resolve("gha-deploy-1.log"), "10");
+        Path second = writeLog(logs.resolve("gha-deploy-2.log"), "20");
+        MetricsCache cache = new MetricsCache(tmp.resolve("cache.bin"));
+        assertEquals(2, cache.refresh(logs).getRecords().size());
+
+        Files.delete(first);
+        ParseResult afterUpdate = cache.update(logs, Collections.singleton(first));
+        assertEquals(1, afterUpdate.getRecords().size());
+        assertEquals(20, afterUpdate.getRecords().get(0).getTotalPipelineTime());
+
+        Files.delete(second);
+        assertTrue(cache.refresh(logs).getRecords().isEmpty());
+    }
+
+    @Test
+    public void recordsMatchAFreshParseOfTheSampleLogs() throws IOException {
+        MetricsCache cache = new MetricsCache(tmp.resolve("cache.bin"));
+        cache.refresh(MetricsParserTest.SAMPLE_LOGS);
+        ParseResult cached = new MetricsCache(tmp.resolve("cache.bin")).refresh(MetricsParserTest.SAMPLE_LOGS);
+        ParseResult parsed = MetricsParser.parseAll(MetricsParserTest.SAMPLE_LOGS, 1);
+        assertEquals(parsed.getRecords().size(), cached.getRecords().size());
+        for (int i = 0; i < parsed.getRecords().size(); i++) {
+            MetricsParserTest.assertSameRecord(parsed.getRecords().get(i), cached.getRecords().get(i), "record " + i);
+        }
+    }
+
+    private static Path writeLog(Path log, String totalSeconds) throws IOException {
+        return Files.write(log, ("| Total Pipeline Time (sec) | " + totalSeconds + " |\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Replaces the log's content with one of the same length and puts its mtime back
+    private static void rewriteInPlace(Path log, String totalSeconds) throws IOException {
+        FileTime mtime = Files.getLastModifiedTime(log);
+        long size = Files.size(log);
+        writeLog(log, totalSeconds);
+        assertEquals(size, Files.size(log));
+        Files.setLastModifiedTime(log, mtime);
+    }
+}
@@ -0,0 +1,123 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Predicate;
+
+public class MetricsIngesterTest {
+    private static final long TIMEOUT_MS = 10_000;
+
+    @TempDir
+    Path tmp;
+
+    private MetricsIngester ingester;
+
+    @AfterEach
+    public void close() throws IOException {
+        if (ingester != null) {
+            ingester.close();
+        }
+    }
+
+    @Test
+    public void startPublishesTheExistingLogs() throws IOException {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        writeLog(logs.resolve("gha-deploy-1.log"), "10");
+        start(logs);
+
+        MetricsSnapshot first = ingester.snapshot();
+        assertEquals(1, first.getVersion());
+        assertEquals(1, first.getRecords().size());
+    }
+
+    @Test
+    public void newAndChangedLogsArePublished() throws Exception {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        Path log = writeLog(logs.resolve("gha-deploy-1.log"), "10");
+        start(logs);
+
+        writeLog(logs.resolve("gha-deploy-2.log"), "20");
+        MetricsSnapshot added = await(s -> s.getRecords().size() == 2);
+        assertEquals(20, added.getRecords().get(1).getTotalPipelineTime());
+
+        writeLog(log, "15");
+        await(s -> s.getRecords().get(0).getTotalPipelineTime() == 15);
+    }
+
+    @Test
+    public void burstOfWritesIsIngestedOnce() throws Exception {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        start(logs);
+
+        // Well inside the debounce window, so the whole burst settles into one publish
+        for (int i = 1; i <= 20; i++) {
+            writeLog(logs.resolve("gha-deploy-" + i + ".log"), String.valueOf(i));
+        }
+        MetricsSnapshot settled = await(s -> s.getRecords().size() == 20);
+        assertTrue(settled.getVersion() <= 3, "published " + (settled.getVersion() - 1) + " times");
+    }
+
+    @Test
+    public void logsInANewDirectoryAreFound() throws Exception {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        start(logs);
+
+        Path sub = Files.createDirectories(logs.resolve("nightly"));
+        writeLog(sub.resolve("jenkins-deploy-1.log"), "30");
+        MetricsSnapshot found = await(s -> s.getRecords().size() == 1);
+        assertEquals("jenkins", found.getRecords().get(0).getToolName());
+
+        // The new directory is watched too, not only scanned once
+        writeLog(sub.resolve("jenkins-deploy-2.log"), "40");
+        await(s -> s.getRecords().size() == 2);
+    }
+
+    @Test
+    public void deletedLogsAndDirectoriesAreDropped() throws Exception {
+        Path logs = Files.createDirectories(tmp.resolve("logs"));
+        Path sub = Files.createDirectories(logs.resolve("nightly"));
+        Path top = writeLog(logs.resolve("gha-deploy-1.log"), "10");
+        Path nested = writeLog(sub.resolve("jenkins-deploy-1.log"), "30");
+        start(logs);
+        assertEquals(2, ingester.snapshot().getRecords().size());
+
+        Files.delete(top);
+        await(s -> s.getRecords().size() == 1);
+
+        Files.delete(nested);
+        Files.delete(sub);
+        await(s -> s.getRecords().isEmpty());
+    }
+
+    private void start(Path logs) throws IOException {
+        ingester = new MetricsIngester(logs, new MetricsCache(tmp.resolve("cache.bin")));
+        ingester.start();
+    }
+
+    // Waits for a snapshot the condition holds for
+    private MetricsSnapshot await(Predicate<MetricsSnapshot> condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (true) {
+            MetricsSnapshot snapshot = ingester.snapshot();
+            if (condition.test(snapshot)) {
+                return snapshot;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                fail("no matching snapshot; last was version " + snapshot.getVersion()
+                        + " with " + snapshot.getRecords().size() + " record(s)");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static Path writeLog(Path log, String totalSeconds) throws IOException {
+        return Files.write(log, ("| Total Pipeline Time (sec) | " + totalSeconds + " |\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,175 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class MetricsParserTest {
+    static final Path SAMPLE_LOGS = Paths.get("src/main/webapp/logs");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void sampleLogsParseLikeTheWholeFileParser() throws IOException {
+        List<Path> logs = MetricsParser.listLogs(SAMPLE_LOGS);
+        assertFalse(logs.isEmpty());
+        for (Path log : logs) {
+            assertSameRecord(BaselineParser.parseLog(log), MetricsParser.parseLog(log), log.toString());
+        }
+    }
+
+    @Test
+    public void editedLogsParseLikeTheWholeFileParser() throws IOException {
+        // Metrics spread over CRLF lines, repeated table keys, two costs and three memory readings
+        Path log = write("jenkins-deploy-1.log",
+                "| Total Pipeline Time (sec) | 10 |\r\n"
+                + "| Total Pipeline Time (sec) | 12.5 |\r\n"
+                + "| Deployment Time | 3 | | Lead Time for Changes | 40 |\r\n"
+                + "| Cost (USD) | 0.25 |\n| Cost (USD) | 9 |\n"
+                + "Mem:  7.7Gi  1.5Gi  5Gi\n"
+                + "used memory : 900 MB\n"
+                + "Mem:  7.7Gi  2Gi  5Gi\n"
+                + "Rollback completed in 7 seconds.\n");
+        assertSameRecord(BaselineParser.parseLog(log), MetricsParser.parseLog(log), "edited log");
+        assertEquals(12.5, MetricsParser.parseLog(log).getTotalPipelineTime());
+        assertEquals(1536, MetricsParser.parseLog(log).getMemoryBeforeUsed());
+    }
+
+    @Test
+    public void recordsComeBackInToolAndRunOrder() throws IOException {
+        for (String name : new String[] { "gha-deploy-10.log", "gha-deploy-2.log", "codebuild-deploy-1.log" }) {
+            write(name, "| Total Pipeline Time (sec) | " + name.length() + " |\n");
+        }
+        ParseResult result = MetricsParser.parseAll(dir, 3);
+        List<String> order = new ArrayList<>();
+        for (MetricRecord rec : result.getRecords()) {
+            order.add(rec.getToolName() + "/" + (int) rec.getTotalPipelineTime());
+        }
+        assertEquals(Arrays.asList("codebuild/22", "gha/16", "gha/17"), order);
+    }
+
+    @Test
+    public void parallelAndSequentialParsesAgree() throws IOException {
+        List<MetricRecord> sequential = MetricsParser.parseAll(SAMPLE_LOGS, 1).getRecords();
+        List<MetricRecord> parallel = MetricsParser.parseAll(SAMPLE_LOGS, 4).getRecords();
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertSameRecord(sequential.get(i), parallel.get(i), "record " + i);
+        }
+    }
+
+    @Test
+    public void unreadableLogsAreReportedNotDropped() throws IOException {
+        Path good = write("gha-deploy-1.log", "| Total Pipeline Time (sec) | 5 |\n");
+        Path missing = dir.resolve("gha-deploy-2.log");
+        ParseResult result = MetricsParser.parseFiles(Arrays.asList(missing, good), 2);
+        assertEquals(1, result.getRecords().size());
+        assertTrue(result.hasFailures());
+        assertEquals(missing, result.getFailures().get(0).getFile());
+    }
+
+    @Test
+    public void runNumberComesFromTheFileName() {
+        assertEquals(15, MetricsParser.runNumber(Paths.get("gha-deploy-15.log")));
+        assertEquals(-1, MetricsParser.runNumber(Paths.get("notes.log")));
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void assertSameRecord(MetricRecord expected, MetricRecord actual, String what) {
+        assertEquals(expected.getToolName(), actual.getToolName(), what);
+        assertEquals(expected.isRollback(), actual.isRollback(), what);
+        assertEquals(expected.getTotalPipelineTime(), actual.getTotalPipelineTime(), what);
+        assertEquals(expected.getDeploymentTime(), actual.getDeploymentTime(), what);
+        assertEquals(expected.getLeadTime(), actual.getLeadTime(), what);
+        assertEquals(expected.getRollbackTime(), actual.getRollbackTime(), what);
+        assertEquals(expected.getMemoryBeforeUsed(), actual.getMemoryBeforeUsed(), what);
+        assertEquals(expected.getMemoryAfterUsed(), actual.getMemoryAfterUsed(), what);
+        assertEquals(expected.getCost(), actual.getCost(), what);
+    }
+
+    /** The parser as it was before the streaming rewrite: whole-file regex scans. */
+    static final class BaselineParser {
+        private static final Pattern KV_SEC = Pattern.compile(
+            "\\|\\s*([^|\\(]+?)\\s*(?:\\(sec\\))?\\s*\\|\\s*(\\d+\\.?\\d*)\\s*\\|",
+            Pattern.CASE_INSENSITIVE);
+        private static final Pattern JENKINS_ROLLBACK_SENTENCE =
+            Pattern.compile("Rollback completed in\\s+(\\d+)\\s+seconds\\.", Pattern.CASE_INSENSITIVE);
+        private static final Pattern MEM_USED = Pattern.compile(
+            "(Mem:\\s+\\S+\\s+(\\d+\\.?\\d*)(Gi|Mi))"
+            + "|(used memory\\s+:\\s+(\\d+\\.?\\d*)\\s+MB)",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+        private static final Pattern COST_PATTERN = Pattern.compile(
+            "\\|\\s*Cost \\(USD\\)\\s*\\|\\s*(\\d+\\.?\\d*)\\s*\\|");
+
+        static MetricRecord parseLog(Path logFile) throws IOException {
+            String content = new String(Files.readAllBytes(logFile), StandardCharsets.UTF_8);
+            MetricRecord rec = new MetricRecord(toolName(logFile.getFileName().toString()));
+
+            Matcher kv = KV_SEC.matcher(content);
+            while (kv.find()) {
+                String key = kv.group(1).trim().toLowerCase();
+                double val = Double.parseDouble(kv.group(2));
+                switch (key) {
+                    case "total pipeline time": rec.setTotalPipelineTime(val); break;
+                    case "deployment time":
+                    case "deployment duration": rec.setDeploymentTime(val); break;
+                    case "lead time for changes": rec.setLeadTime(val); break;
+                    case "rollback time":
+                    case "rollback deployment time": rec.setRollbackTime(val); break;
+                }
+            }
+            Matcher jr = JENKINS_ROLLBACK_SENTENCE.matcher(content);
+            if (jr.find()) {
+                rec.setRollbackTime(Double.parseDouble(jr.group(1)));
+            }
+            Matcher costM = COST_PATTERN.matcher(content);
+            if (costM.find()) {
+                rec.setCost(Double.parseDouble(costM.group(1)));
+            }
+            if (!rec.isRollback()) {
+                List<Double> mem = new ArrayList<>();
+                Matcher mm = MEM_USED.matcher(content);
+                while (mm.find()) {
+                    if (mm.group(2) != null) {
+                        double value = Double.parseDouble(mm.group(2));
+                        mem.add(mm.group(3).equalsIgnoreCase("Gi") ? value * 1024 : value);
+                    } else if (mm.group(5) != null) {
+                        mem.add(Double.parseDouble(mm.group(5)));
+                    }
+                }
+                if (mem.size() >= 2) {
+                    rec.setMemoryBeforeUsed(mem.get(0));
+                    rec.setMemoryAfterUsed(mem.get(1));
+                }
+            }
+            return rec;
+        }
+
+        private static String toolName(String fn) {
+            fn = fn.toLowerCase();
+            if (fn.contains("jenkins")) {
+                return fn.contains("rollback") ? "jenkins-rollback" : "jenkins";
+            } else if (fn.contains("gha")) {
+                return fn.contains("rollback") ? "gha-rollback" : "gha";
+            } else if (fn.contains("codebuild")) {
+                return fn.contains("rollback") ? "codebuild-rollback" : "codebuild";
+            }
+            return "unknown";
+        }
+    }
+}
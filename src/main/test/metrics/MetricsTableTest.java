@@ -0,0 +1,90 @@
+package metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.DoubleSummaryStatistics;
+import java.util.List;
+
+public class MetricsTableTest {
+    @Test
+    public void rowsAreDeploymentsThenRollbacks() {
+        MetricRecord rollback = rollback("gha-rollback", 5);
+        MetricRecord deploy = deployment("gha", 100, 500, 700);
+        MetricRecord other = deployment("jenkins", 50, 500, 600);
+        MetricsTable table = MetricsTable.of(new MetricsSnapshot(7, Arrays.asList(rollback, deploy, other)));
+
+        assertEquals(7, table.getVersion());
+        assertEquals(2, table.getDeployments().size());
+        assertEquals(1, table.getRollbacks().size());
+        assertSame(deploy, table.getRows().get(0).getRecord());
+        assertSame(other, table.getRows().get(1).getRecord());
+        assertSame(rollback, table.getRows().get(2).getRecord());
+        assertEquals(5, table.getRows().get(2).getTime());
+        assertEquals(200, table.getRows().get(0).getMemoryDelta());
+    }
+
+    @Test
+    public void fastestAndSlowestScoreAtTheEnds() {
+        MetricsTable table = MetricsTable.of(new MetricsSnapshot(1, Arrays.asList(
+                deployment("gha", 50, 500, 600), deployment("gha", 100, 500, 700),
+                rollback("gha-rollback", 5), rollback("gha-rollback", 15))));
+
+        assertEquals(0.8, table.getDeployments().get(0).getIndex(), 1e-9);
+        assertEquals(0.0, table.getDeployments().get(1).getIndex(), 1e-9);
+        assertEquals(1.0, table.getRollbacks().get(0).getIndex(), 1e-9);
+        assertEquals(0.0, table.getRollbacks().get(1).getIndex(), 1e-9);
+    }
+
+    @Test
+    public void sampleLogIndicesMatchTheDashboardsOwnComputation() throws IOException {
+        List<MetricRecord> records = MetricsParser.parseAll(MetricsParserTest.SAMPLE_LOGS, 1).getRecords();
+        MetricsTable table = MetricsTable.of(new MetricsSnapshot(1, records));
+
+        // As MetricsDashboardServlet computed them per request before MetricsTable
+        DoubleSummaryStatistics time = new DoubleSummaryStatistics();
+        DoubleSummaryStatistics mem = new DoubleSummaryStatistics();
+        DoubleSummaryStatistics rollbackTime = new DoubleSummaryStatistics();
+        for (MetricRecord rec : records) {
+            if (rec.isRollback()) {
+                rollbackTime.accept(rec.getRollbackTime());
+            } else {
+                time.accept(rec.getTotalPipelineTime());
+                mem.accept(rec.getMemoryAfterUsed() - rec.getMemoryBeforeUsed());
+            }
+        }
+        int deployments = 0;
+        int rollbacks = 0;
+        for (MetricRecord rec : records) {
+            if (rec.isRollback()) {
+                IndexedMetric row = table.getRollbacks().get(rollbacks++);
+                assertSame(rec, row.getRecord());
+                assertEquals(EfficiencyIndexCalculator.computeRollbackIndex(rec.getRollbackTime(),
+                        rollbackTime.getMin(), rollbackTime.getMax()), row.getIndex());
+            } else {
+                IndexedMetric row = table.getDeployments().get(deployments++);
+                assertSame(rec, row.getRecord());
+                assertEquals(EfficiencyIndexCalculator.computeDeploymentIndex(rec.getTotalPipelineTime(),
+                        rec.getMemoryAfterUsed() - rec.getMemoryBeforeUsed(),
+                        time.getMin(), time.getMax(), mem.getMin(), mem.getMax()), row.getIndex());
+            }
+        }
+        assertEquals(records.size(), table.getRows().size());
+    }
+
+    private static MetricRecord deployment(String tool, double seconds, double memBefore, double memAfter) {
+        MetricRecord rec = new MetricRecord(tool);
+        rec.setTotalPipelineTime(seconds);
+        rec.setMemoryBeforeUsed(memBefore);
+        rec.setMemoryAfterUsed(memAfter);
+        return rec;
+    }
+
+    private static MetricRecord rollback(String tool, double seconds) {
+        MetricRecord rec = new MetricRecord(tool);
+        rec.setRollbackTime(seconds);
+        return rec;
+    }
+}
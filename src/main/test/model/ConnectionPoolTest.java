@@ -0,0 +1,130 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+public class ConnectionPoolTest {
+
+    /** Hands out connections that only track whether they were closed. */
+    static final class FakeDriver implements Driver {
+        @Override
+        public Connection connect(String url, Properties info) {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            boolean[] closed = new boolean[1];
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "close": closed[0] = true; return null;
+                            case "isClosed": return closed[0];
+                            case "isValid": return !closed[0];
+                            case "getAutoCommit": return true;
+                            case "isReadOnly": return false;
+                            case "hashCode": return System.identityHashCode(proxy);
+                            case "equals": return proxy == args[0];
+                            default: return null;
+                        }
+                    });
+        }
+
+        @Override public boolean acceptsURL(String url) { return url.startsWith("jdbc:fake:"); }
+        @Override public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) { return new DriverPropertyInfo[0]; }
+        @Override public int getMajorVersion() { return 1; }
+        @Override public int getMinorVersion() { return 0; }
+        @Override public boolean jdbcCompliant() { return false; }
+        @Override public Logger getParentLogger() { return Logger.getGlobal(); }
+    }
+
+    private static final FakeDriver DRIVER = new FakeDriver();
+
+    @BeforeAll
+    static void registerDriver() throws SQLException {
+        DriverManager.registerDriver(DRIVER);
+    }
+
+    @AfterAll
+    static void deregisterDriver() throws SQLException {
+        DriverManager.deregisterDriver(DRIVER);
+    }
+
+    private static ConnectionPool pool(String name, long leakReclaimMs) {
+        Properties settings = new Properties();
+        settings.setProperty("minSize", "0");
+        settings.setProperty("maxSize", "2");
+        settings.setProperty("borrowTimeoutMs", "100");
+        settings.setProperty("idleTimeoutMs", "2000"); // housekeeping every second
+        settings.setProperty("leakDetectionMs", "0");
+        settings.setProperty("leakReclaimMs", String.valueOf(leakReclaimMs));
+        settings.setProperty("statementCacheSize", "0");
+        return new ConnectionPool(name, "jdbc:fake:" + name, null, null, settings);
+    }
+
+    @Test
+    public void statsTrackBorrowsAndReturns() throws SQLException {
+        ConnectionPool pool = pool("stats", 0);
+        try {
+            Connection conn = pool.borrow();
+            assertEquals(1, pool.getStats().getActive());
+            conn.close();
+            PoolStats stats = pool.getStats();
+            assertEquals(0, stats.getActive());
+            assertEquals(1, stats.getIdle());
+            assertEquals(1, stats.getTotalBorrows());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void busyPoolTimesOut() throws SQLException {
+        ConnectionPool pool = pool("busy", 0);
+        try {
+            pool.borrow();
+            pool.borrow();
+            assertNull(pool.borrow(50));
+            assertThrows(SQLException.class, pool::borrow);
+            assertEquals(2, pool.getStats().getTotalTimeouts());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void leakedConnectionsAreReclaimed() throws Exception {
+        ConnectionPool pool = pool("leaky", 500);
+        try {
+            Connection leaked = pool.borrow();
+            pool.borrow();
+            assertNull(pool.borrow(0));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (pool.getStats().getTotalReclaimed() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            assertEquals(2, pool.getStats().getTotalReclaimed());
+            assertEquals(0, pool.getStats().getActive());
+            assertTrue(leaked.isClosed());
+
+            // The slots are usable again, and a late close() by the leaker does not free a second one
+            Connection conn = pool.borrow();
+            leaked.close();
+            pool.borrow();
+            assertNull(pool.borrow(0));
+            conn.close();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class JobCacheTest {
+
+    private static Job job(int id, String title, int employerId) {
+        Job job = new Job(title, "desc", "Remote", 1000, employerId);
+        job.setJobId(id);
+        return job;
+    }
+
+    @Test
+    public void listingsAreCopiedInAndOut() {
+        JobCache cache = new JobCache(true, 100, 100, 60_000);
+        List<Job> loaded = new ArrayList<>(List.of(job(1, "Clerk", 7), job(2, "Cook", 7)));
+        cache.putEmployerJobs(7, loaded, cache.generation());
+
+        // The caller's own list, and what it gets back, are not the cached entries
+        loaded.get(0).setTitle("Changed by the loader");
+        List<Job> first = cache.getEmployerJobs(7);
+        assertEquals("Clerk", first.get(0).getTitle());
+        first.get(0).setTitle("Changed by a reader");
+        assertEquals("Clerk", cache.getEmployerJobs(7).get(0).getTitle());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(job(3, "Driver", 7)));
+    }
+
+    @Test
+    public void allJobsAndPagesAreCopied() {
+        JobCache cache = new JobCache(true, 100, 100, 60_000);
+        cache.putAllJobs(new ArrayList<>(List.of(job(1, "Clerk", 7))), cache.generation());
+        cache.getAllJobs().get(0).setSalary(1);
+        assertEquals(1000, cache.getAllJobs().get(0).getSalary());
+
+        PageRequest request = PageRequest.firstPage();
+        cache.putEmployerPage(7, request, new Page<>(List.of(job(1, "Clerk", 7)), false, null, null), cache.generation());
+        cache.getEmployerPage(7, request).getItems().get(0).setTitle("Changed");
+        assertEquals("Clerk", cache.getEmployerPage(7, request).getItems().get(0).getTitle());
+    }
+
+    @Test
+    public void loadOverlappingAWriteIsNotCached() {
+        JobCache cache = new JobCache(true, 100, 100, 60_000);
+        long loadedAt = cache.generation();
+        cache.invalidateEmployer(7);
+        cache.putEmployerJobs(7, List.of(job(1, "Clerk", 7)), loadedAt);
+        assertNull(cache.getEmployerJobs(7));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void statisticsCountHitsAndMisses() {
+        JobCache cache = new JobCache(true, 100, 100, 60_000);
+        cache.putJob(job(1, "Clerk", 7), cache.generation());
+        cache.getJob(1);
+        cache.getJob(1);
+        cache.getJob(2);
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertTrue(cache.toString().contains("hitRatio=0.667"), cache.toString());
+    }
+}
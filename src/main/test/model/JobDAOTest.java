@@ -0,0 +1,28 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class JobDAOTest {
+
+    @Test
+    public void titleOrderIgnoresCaseAndAccentsLikeTheColumn() {
+        // The default utf8mb4 collation: "Zebra" after "apple", case and accents ignored
+        String[] titles = { "Zebra", "apple", "Banana", "Éclair", "eagle" };
+        List<String> sorted = new ArrayList<>(Arrays.asList(titles));
+        sorted.sort(JobDAO.titleOrder());
+        assertEquals(Arrays.asList("apple", "Banana", "eagle", "Éclair", "Zebra"), sorted);
+    }
+
+    @Test
+    public void titlesEqualUnderTheCollationTie() {
+        Comparator<String> order = JobDAO.titleOrder();
+        assertEquals(0, order.compare("Apple", "apple"));
+        assertEquals(0, order.compare("Éclair", "eclair"));
+    }
+}
@@ -0,0 +1,78 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class JobSearchIndexTest {
+
+    private static Job job(int jobId, String title) {
+        Job job = new Job(title, "", "Remote", 0, 1);
+        job.setJobId(jobId);
+        return job;
+    }
+
+    @Test
+    public void reloadReplacesTheIndex() {
+        JobSearchIndex index = new JobSearchIndex();
+        index.rebuild(Collections.singletonList(job(1, "java developer")));
+        index.beginReload();
+        index.rebuild(Arrays.asList(job(1, "java developer"), job(2, "python developer")));
+        assertEquals(2, index.size());
+        assertEquals(2, index.search("python", 10).get(0).getJobId());
+    }
+
+    @Test
+    public void writesDuringReloadWinOverLoadedRows() {
+        JobSearchIndex index = new JobSearchIndex();
+        index.rebuild(Arrays.asList(job(1, "java developer"), job(3, "go developer")));
+        index.beginReload();
+        // The load below was read before these writes landed
+        index.remove(1);
+        index.index(job(2, "python developer"));
+        index.index(job(3, "rust developer"));
+        index.rebuild(Arrays.asList(job(1, "java developer"), job(3, "go developer")));
+
+        assertEquals(2, index.size());
+        assertTrue(index.search("java", 10).isEmpty());
+        assertTrue(index.search("go", 10).isEmpty());
+        assertEquals(2, index.search("python", 10).get(0).getJobId());
+        assertEquals(3, index.search("rust", 10).get(0).getJobId());
+    }
+
+    @Test
+    public void changesAreAppliedWithoutARebuild() {
+        JobSearchIndex index = new JobSearchIndex();
+        index.rebuild(Arrays.asList(job(1, "java developer"), job(2, "go developer")));
+        index.beginReload();
+        index.applyChanges(Arrays.asList(job(2, "rust developer"), job(3, "python developer")),
+                Collections.singleton(1));
+
+        assertEquals(2, index.size());
+        assertTrue(index.search("java", 10).isEmpty());
+        assertTrue(index.search("go", 10).isEmpty());
+        assertEquals(2, index.search("rust", 10).get(0).getJobId());
+        assertEquals(3, index.search("python", 10).get(0).getJobId());
+    }
+
+    @Test
+    public void writesDuringReloadWinOverAppliedChanges() {
+        JobSearchIndex index = new JobSearchIndex();
+        index.rebuild(Arrays.asList(job(1, "java developer"), job(2, "go developer")));
+        index.beginReload();
+        // Read by the feed before these local writes landed
+        index.index(job(1, "kotlin developer"));
+        index.remove(2);
+        index.applyChanges(Arrays.asList(job(1, "java developer"), job(2, "go developer")),
+                Collections.emptySet());
+
+        assertEquals(1, index.size());
+        assertEquals(1, index.search("kotlin", 10).get(0).getJobId());
+        assertTrue(index.search("go", 10).isEmpty());
+        // The reload is over: the next change applies again
+        index.applyChanges(Collections.emptyList(), Collections.singleton(1));
+        assertEquals(0, index.size());
+    }
+}
@@ -0,0 +1,115 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class PageRequestTest {
+    private static final Comparator<Job> BY_SALARY = Comparator.comparingDouble(Job::getSalary);
+
+    private static Job job(int id, double salary) {
+        Job job = new Job("Job " + id, "", "", salary, 1);
+        job.setJobId(id);
+        return job;
+    }
+
+    private static List<Integer> ids(List<Job> jobs) {
+        List<Integer> ids = new ArrayList<>();
+        for (Job job : jobs) {
+            ids.add(job.getJobId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void mergesAscendingWithIdTieBreak() {
+        PageRequest page = new PageRequest(PageRequest.SortKey.SALARY, false, 10, null, null);
+        List<Job> shard0 = Arrays.asList(job(1, 100), job(3, 300), job(5, 300));
+        List<Job> shard1 = Arrays.asList(job(2, 100), job(4, 200), job(6, 300));
+        List<Job> merged = page.merge(Arrays.asList(shard0, shard1), BY_SALARY, Job::getJobId);
+        assertEquals(Arrays.asList(1, 2, 4, 3, 5, 6), ids(merged));
+    }
+
+    @Test
+    public void mergesDescending() {
+        PageRequest page = new PageRequest(PageRequest.SortKey.SALARY, true, 10, null, null);
+        // Each shard returns its rows in the query's (descending) order
+        List<Job> shard0 = Arrays.asList(job(5, 300), job(3, 300), job(1, 100));
+        List<Job> shard1 = Arrays.asList(job(6, 300), job(4, 200), job(2, 100));
+        List<Job> merged = page.merge(Arrays.asList(shard0, shard1), BY_SALARY, Job::getJobId);
+        assertEquals(Arrays.asList(6, 5, 3, 4, 2, 1), ids(merged));
+    }
+
+    @Test
+    public void keepsPageSizePlusOneRows() {
+        PageRequest page = new PageRequest(PageRequest.SortKey.SALARY, false, 2, null, null);
+        List<Job> shard0 = Arrays.asList(job(1, 10), job(3, 30), job(5, 50));
+        List<Job> shard1 = Arrays.asList(job(2, 20), job(4, 40), job(6, 60));
+        List<Job> merged = page.merge(Arrays.asList(shard0, shard1), BY_SALARY, Job::getJobId);
+        // The extra row tells the caller there is a next page
+        assertEquals(Arrays.asList(1, 2, 3), ids(merged));
+    }
+
+    @Test
+    public void mergesEmptyAndSingleShards() {
+        PageRequest page = new PageRequest(PageRequest.SortKey.DATE, true, 5, null, null);
+        List<Job> none = new ArrayList<>();
+        assertTrue(page.merge(Arrays.asList(none, none), (a, b) -> 0, Job::getJobId).isEmpty());
+        List<Job> merged = page.merge(Arrays.asList(none, Arrays.asList(job(9, 0), job(7, 0))),
+                (a, b) -> 0, Job::getJobId);
+        assertEquals(Arrays.asList(9, 7), ids(merged));
+    }
+
+    @Test
+    public void pagesThroughShardsWithoutSkippingOrRepeating() {
+        // Simulates keyset paging over three shards: each shard answers "after the cursor, first n+1"
+        List<List<Job>> shards = new ArrayList<>();
+        for (int s = 0; s < 3; s++) {
+            shards.add(new ArrayList<>());
+        }
+        for (int id = 1; id <= 40; id++) {
+            shards.get((id - 1) % 3).add(job(id, (id * 7) % 5 * 100));
+        }
+        Comparator<Job> order = BY_SALARY.thenComparingInt(Job::getJobId);
+        for (List<Job> rows : shards) {
+            rows.sort(order);
+        }
+
+        List<Integer> seen = new ArrayList<>();
+        Job cursor = null;
+        int pageSize = 6;
+        while (true) {
+            PageRequest page = new PageRequest(PageRequest.SortKey.SALARY, false, pageSize,
+                    cursor == null ? null : cursor.getJobId(),
+                    cursor == null ? null : String.valueOf(cursor.getSalary()));
+            List<List<Job>> perShard = new ArrayList<>();
+            for (List<Job> rows : shards) {
+                List<Job> after = new ArrayList<>();
+                for (Job job : rows) {
+                    if ((cursor == null || order.compare(job, cursor) > 0) && after.size() < pageSize + 1) {
+                        after.add(job);
+                    }
+                }
+                perShard.add(after);
+            }
+            List<Job> merged = page.merge(perShard, BY_SALARY, Job::getJobId);
+            List<Job> shown = merged.subList(0, Math.min(pageSize, merged.size()));
+            seen.addAll(ids(shown));
+            if (merged.size() <= pageSize) {
+                break;
+            }
+            cursor = shown.get(shown.size() - 1);
+        }
+
+        List<Job> all = new ArrayList<>();
+        for (List<Job> rows : shards) {
+            all.addAll(rows);
+        }
+        all.sort(order);
+        assertEquals(ids(all), seen);
+    }
+}
@@ -0,0 +1,90 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class RecommendationEngineTest {
+
+    private static Job job(int jobId, String title) {
+        Job job = new Job(title, "", "Remote", 0, 1);
+        job.setJobId(jobId);
+        return job;
+    }
+
+    private static User seeker(int userId, String skills) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setRole("JOB_SEEKER");
+        user.setSkills(skills);
+        return user;
+    }
+
+    private static List<Integer> ids(List<Job> jobs) {
+        List<Integer> ids = new ArrayList<>();
+        for (Job job : jobs) {
+            ids.add(job.getJobId());
+        }
+        return ids;
+    }
+
+    private static RecommendationEngine engine() {
+        RecommendationEngine engine = new RecommendationEngine(2);
+        engine.rebuild(Arrays.asList(
+                job(1, "java sql spring"),
+                job(2, "java sql"),
+                job(3, "java"),
+                job(4, "cooking")),
+                Collections.singletonList(seeker(10, "java, sql, spring")));
+        return engine;
+    }
+
+    @Test
+    public void ranksBestMatchFirst() {
+        assertEquals(Arrays.asList(1, 2), ids(engine().recommend(10, 5, Collections.emptySet())));
+    }
+
+    @Test
+    public void appliedJobsDoNotShortenTheList() {
+        // Both precomputed jobs are applied to; the third match must still come back
+        List<Job> jobs = engine().recommend(10, 2, new HashSet<>(Arrays.asList(1, 2)));
+        assertEquals(Collections.singletonList(3), ids(jobs));
+    }
+
+    @Test
+    public void partlyAppliedListIsRefilled() {
+        assertEquals(Arrays.asList(2, 3), ids(engine().recommend(10, 2, Collections.singleton(1))));
+    }
+
+    @Test
+    public void unknownSeekerGetsNothing() {
+        assertTrue(engine().recommend(99, 5, Collections.emptySet()).isEmpty());
+    }
+
+    @Test
+    public void seekerFromAnotherNodeIsPickedUpOnRead() {
+        RecommendationEngine engine = engine();
+        // Registered elsewhere, then edited elsewhere
+        engine.seekerLoaded(seeker(11, "cooking"));
+        assertEquals(Collections.singletonList(4), ids(engine.recommend(11, 5, Collections.emptySet())));
+        engine.seekerLoaded(seeker(11, "spring"));
+        assertEquals(Collections.singletonList(1), ids(engine.recommend(11, 5, Collections.emptySet())));
+    }
+
+    @Test
+    public void jobsFromTheChangeFeedUpdateTheLists() {
+        RecommendationEngine engine = engine();
+        engine.jobRemoved(1);
+        Job salaryOnly = job(2, "java sql");
+        salaryOnly.setSalary(5000);
+        engine.jobChanged(salaryOnly);
+        List<Job> jobs = engine.recommend(10, 5, Collections.emptySet());
+        assertEquals(Arrays.asList(2, 3), ids(jobs));
+        assertEquals(5000, jobs.get(0).getSalary());
+    }
+}
@@ -0,0 +1,67 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class ShardRouterTest {
+
+    @Test
+    public void idsMapBackToTheShardThatGeneratedThem() {
+        for (int shards = 1; shards <= 5; shards++) {
+            for (int shard = 0; shard < shards; shard++) {
+                // auto_increment_increment = shards, auto_increment_offset = shard + 1
+                for (int k = 0; k < 100; k++) {
+                    int id = shard + 1 + k * shards;
+                    assertEquals(shard, ShardRouter.shardForId(id, shards), "id " + id + " of " + shards);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void employerShardIsStableAndInRange() {
+        for (int shards = 1; shards <= 5; shards++) {
+            for (int employerId = -50; employerId < 1000; employerId++) {
+                int shard = ShardRouter.shardForEmployer(employerId, shards);
+                assertTrue(shard >= 0 && shard < shards, "employer " + employerId + " -> " + shard);
+                assertEquals(shard, ShardRouter.shardForEmployer(employerId, shards));
+            }
+        }
+    }
+
+    @Test
+    public void singleShardTakesEveryEmployer() {
+        for (int employerId = 1; employerId < 1000; employerId++) {
+            assertEquals(0, ShardRouter.shardForEmployer(employerId, 1));
+        }
+    }
+
+    @Test
+    public void sequentialEmployersSpreadOverEveryShard() {
+        // User ids come from one plain sequence; every shard must get a fair share of them
+        for (int shards = 2; shards <= 5; shards++) {
+            int[] counts = new int[shards];
+            int employers = 10000;
+            for (int employerId = 1; employerId <= employers; employerId++) {
+                counts[ShardRouter.shardForEmployer(employerId, shards)]++;
+            }
+            for (int shard = 0; shard < shards; shard++) {
+                double share = counts[shard] / (double) employers;
+                assertEquals(1.0 / shards, share, 0.03, "shard " + shard + " of " + shards);
+            }
+        }
+    }
+
+    @Test
+    public void employersInOneIdResidueStillSpread() {
+        // Ids that are all equal modulo the shard count must not collapse onto one shard
+        int shards = 4;
+        boolean[] used = new boolean[shards];
+        for (int employerId = 1; employerId < 400; employerId += shards) {
+            used[ShardRouter.shardForEmployer(employerId, shards)] = true;
+        }
+        for (int shard = 0; shard < shards; shard++) {
+            assertTrue(used[shard], "no employer on shard " + shard);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package model;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StatementCacheTest {
+
+    private final List<boolean[]> physicalStatements = new ArrayList<>();
+
+    // A connection whose statements only track whether they were closed
+    private Connection connection() {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        boolean[] closed = new boolean[1];
+                        physicalStatements.add(closed);
+                        return Proxy.newProxyInstance(getClass().getClassLoader(),
+                                new Class<?>[] { PreparedStatement.class }, (p, m, a) -> {
+                                    if (m.getName().equals("close")) {
+                                        closed[0] = true;
+                                    }
+                                    return m.getName().equals("isClosed") ? closed[0] : null;
+                                });
+                    }
+                    return null;
+                });
+    }
+
+    @Test
+    public void countsHitsAndMisses() throws SQLException {
+        AtomicLong hits = new AtomicLong();
+        AtomicLong misses = new AtomicLong();
+        StatementCache cache = new StatementCache(connection(), 10, hits, misses);
+        for (int i = 0; i < 3; i++) {
+            try (PreparedStatement stmt = cache.prepare("SELECT 1", Statement.NO_GENERATED_KEYS)) {
+                assertNotNull(stmt);
+            }
+        }
+        assertEquals(1, misses.get());
+        assertEquals(2, hits.get());
+        assertEquals(1, physicalStatements.size());
+    }
+
+    @Test
+    public void statementStillOpenIsNotShared() throws SQLException {
+        AtomicLong hits = new AtomicLong();
+        AtomicLong misses = new AtomicLong();
+        StatementCache cache = new StatementCache(connection(), 10, hits, misses);
+        try (PreparedStatement outer = cache.prepare("SELECT 1", Statement.NO_GENERATED_KEYS);
+             PreparedStatement inner = cache.prepare("SELECT 1", Statement.NO_GENERATED_KEYS)) {
+            assertNotSame(outer, inner);
+        }
+        assertEquals(2, misses.get());
+        assertEquals(0, hits.get());
+    }
+
+    @Test
+    public void leastRecentlyUsedIsEvictedAndClosed() throws SQLException {
+        StatementCache cache = new StatementCache(connection(), 2, new AtomicLong(), new AtomicLong());
+        for (String sql : new String[] { "SELECT 1", "SELECT 2", "SELECT 3" }) {
+            cache.prepare(sql, Statement.NO_GENERATED_KEYS).close();
+        }
+        assertEquals(2, cache.size());
+        assertTrue(physicalStatements.get(0)[0]);
+        assertFalse(physicalStatements.get(2)[0]);
+    }
+
+    @Test
+    public void poolStatsReportTheHitRatio() {
+        PoolStats stats = new PoolStats("p", 0, 0, 0, 1, 0, 0, 0, 0, 0, 3, 1, new long[ConnectionPool.WAIT_BUCKETS_MS.length + 1]);
+        assertEquals(0.75, stats.getStatementCacheHitRatio(), 1e-9);
+        assertTrue(stats.toString().contains("stmtHits=3"));
+        assertTrue(stats.toString().contains("stmtMisses=1"));
+    }
+}
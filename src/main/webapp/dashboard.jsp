@@ -1,4 +1,4 @@
-<%@ page contentType="text/html;charset=UTF-8" %>
+<%@ page contentType="text/html;charset=UTF-8" session="false" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <html>
 <head>
@@ -7,17 +7,18 @@
 </head>
 <body>
     <c:choose>
-        <c:when test="${empty sessionScope.user}">
+        <c:when test="${empty requestScope.user}">
             <c:redirect url="login.jsp"/>
         </c:when>
-        <c:when test="${sessionScope.user.role == 'EMPLOYER'}">
-            <h1>Welcome Employer: ${sessionScope.user.name}</h1>
+        <c:when test="${requestScope.user.role == 'EMPLOYER'}">
+            <h1>Welcome Employer: ${requestScope.user.name}</h1>
             <a href="postJob.jsp">Post New Job</a><br>
             <a href="viewJobs?action=myJobs">View My Jobs</a><br>
         </c:when>
         <c:otherwise>
-            <h1>Welcome Job Seeker: ${sessionScope.user.name}</h1>
+            <h1>Welcome Job Seeker: ${requestScope.user.name}</h1>
             <a href="viewJobs">Browse Jobs</a><br>
+            <a href="recommendedJobs">Recommended Jobs</a><br>
             <a href="viewApplications">My Applications</a><br>
         </c:otherwise>
     </c:choose>
@@ -1,6 +1,9 @@
-<%@ page contentType="text/html;charset=UTF-8" %>
+<%@ page contentType="text/html;charset=UTF-8" session="false" %>
 <%@ page import="java.util.List, java.util.ArrayList" %>
 <%@ page import="model.Application" %>
+<%@ page import="model.ApplicationSummary" %>
+<%@ page import="model.Page" %>
+<%@ page import="model.PageRequest" %>
 <!DOCTYPE html>
 <html>
 <head>
@@ -19,12 +22,45 @@
                 }
             }
         }
+        Object countObj = request.getAttribute("pendingCount");
+        int pendingCount = countObj instanceof Integer ? (Integer) countObj : pendingApplications.size();
+        Object summariesObj = request.getAttribute("applicationSummaries");
+        List<ApplicationSummary> summaries = new ArrayList<>();
+        if (summariesObj instanceof List<?>) {
+            for (Object item : (List<?>) summariesObj) {
+                if (item instanceof ApplicationSummary) {
+                    summaries.add((ApplicationSummary) item);
+                }
+            }
+        }
+        PageRequest pageRequest = (PageRequest) request.getAttribute("pageRequest");
+        Page<?> pendingPage = (Page<?>) request.getAttribute("resultPage");
+        String dashboardUrl = request.getContextPath() + "/employerDashboard?";
     %>
-    
-    <h2>Pending Applications (<%= pendingApplications.size() %>)</h2>
-    
+
+    <h2>Pending Applications by Job</h2>
     <table border="1">
         <tr>
+            <th>Job Title</th>
+            <th>Pending</th>
+        </tr>
+        <% for (ApplicationSummary summary : summaries) { %>
+        <tr data-job-id="<%= summary.getJobId() %>">
+            <td><%= summary.getJobTitle() %></td>
+            <td class="count-pending"><%= summary.getPending() %></td>
+        </tr>
+        <% } %>
+    </table>
+    
+    <h2>Pending Applications (<span id="pendingCount"><%= pendingCount %></span>)</h2>
+
+    <div class="bulk-actions">
+        <button type="button" class="accept-btn" onclick="bulkUpdate('ACCEPTED')">Accept Selected</button>
+        <button type="button" class="reject-btn" onclick="bulkUpdate('REJECTED')">Reject Selected</button>
+    </div>
+    <table border="1" id="pendingTable">
+        <tr>
+            <th><input type="checkbox" onclick="selectAll(this.checked)" title="Select all"></th>
             <th>Job Title</th>
             <th>Applicant Name</th>
             <th>Application Date</th>
@@ -33,6 +69,7 @@
         </tr>
         <% for (Application app : pendingApplications) { %>
         <tr>
+            <td><input type="checkbox" class="bulk-select" value="<%= app.getApplicationId() %>"></td>
             <td><%= app.getJobTitle() %></td>
             <td><%= app.getApplicantName() %></td>
             <td><%= app.getApplicationDate() %></td>
@@ -51,12 +88,58 @@
         </tr>
         <% } %>
     </table>
+    <% if (pageRequest != null && pendingPage != null) { %>
+    <div class="pagination">
+        <% if (!pageRequest.isFirstPage()) { %>
+            <a href="<%= dashboardUrl %><%= pageRequest.sortQuery() %>">First Page</a>
+        <% } %>
+        <% if (pendingPage.hasNext()) { %>
+            <a href="<%= dashboardUrl %><%= pageRequest.nextPageQuery(pendingPage) %>">Next Page</a>
+        <% } %>
+    </div>
+    <% } %>
     <div class="navigation">
         <a href="<%= request.getContextPath() %>/postJob.jsp">Post New Job</a> |
         <a href="<%= request.getContextPath() %>/viewApplications">Job Status</a> |
         <a href="<%= request.getContextPath() %>/viewJobs?action=myJobs">View My Jobs</a> |
+        <a href="<%= request.getContextPath() %>/searchCandidates">Search Candidates</a> |
     <%--    <a href="<%= request.getContextPath() %>/employerDashboard">Back to Dashboard</a> | --%>
         <a href="<%= request.getContextPath() %>/logout">Logout</a>
     </div>
+    <script>
+        function selectAll(checked) {
+            document.querySelectorAll('.bulk-select').forEach(function (box) { box.checked = checked; });
+        }
+
+        // One request for every checked row; counts come back in the response
+        function bulkUpdate(status) {
+            var boxes = Array.from(document.querySelectorAll('.bulk-select:checked'));
+            if (boxes.length === 0) {
+                alert('Select at least one application.');
+                return;
+            }
+            var body = new URLSearchParams();
+            body.append('status', status);
+            body.append('appIds', boxes.map(function (box) { return box.value; }).join(','));
+            fetch('<%= request.getContextPath() %>/updateApplicationStatuses', {
+                method: 'POST',
+                headers: {'Content-Type': 'application/x-www-form-urlencoded'},
+                body: body
+            }).then(function (response) {
+                if (!response.ok) throw new Error('HTTP ' + response.status);
+                return response.json();
+            }).then(function (result) {
+                boxes.forEach(function (box) { box.closest('tr').remove(); });
+                document.getElementById('pendingCount').textContent = result.pendingCount;
+                result.jobs.forEach(function (job) {
+                    var row = document.querySelector('tr[data-job-id="' + job.jobId + '"]');
+                    if (!row) return;
+                    row.querySelector('.count-pending').textContent = job.pending;
+                });
+            }).catch(function (err) {
+                alert('Status update failed: ' + err.message);
+            });
+        }
+    </script>
 </body>
 </html>
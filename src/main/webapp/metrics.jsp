@@ -1,14 +1,9 @@
-<%@ page import="java.util.*, metrics.MetricRecord" %>
+<%@ page import="java.util.*, metrics.IndexedMetric, metrics.MetricsTable" %>
 <%@ page contentType="text/html;charset=UTF-8" %>
 <%
-    Map<MetricRecord, Double> indexMap = (Map<MetricRecord, Double>) request.getAttribute("indexMap");
-    List<MetricRecord> deployments = new ArrayList<>();
-    List<MetricRecord> rollbacks = new ArrayList<>();
-    
-    for (MetricRecord r : indexMap.keySet()) {
-        if (r.isRollback()) rollbacks.add(r);
-        else deployments.add(r);
-    }
+    MetricsTable metricsTable = (MetricsTable) request.getAttribute("metricsTable");
+    List<IndexedMetric> deployments = metricsTable.getDeployments();
+    List<IndexedMetric> rollbacks = metricsTable.getRollbacks();
 %>
 <!DOCTYPE html>
 <html>
@@ -31,8 +26,8 @@
             data.addColumn('string', 'Tool');
             data.addColumn('number', 'Efficiency Index');
 
-            <% for (MetricRecord rec : indexMap.keySet()) { %>
-                data.addRow(['<%= rec.getToolName() %>', <%= indexMap.get(rec) %>]);
+            <% for (IndexedMetric row : metricsTable.getRows()) { %>
+                data.addRow(['<%= row.getToolName() %>', <%= row.getIndex() %>]);
             <% } %>
 
             const options = {
@@ -68,14 +63,12 @@
                 <th>Memory Δ (MiB)</th>
                 <th>Efficiency Index</th>
             </tr>
-            <% for (MetricRecord r : deployments) { 
-                double memDelta = r.getMemoryAfterUsed() - r.getMemoryBeforeUsed();
-            %>
+            <% for (IndexedMetric r : deployments) { %>
             <tr>
                 <td><%= r.getToolName() %></td>
-                <td><%= String.format("%.1f", r.getTotalPipelineTime()) %></td>
-                <td><%= String.format("%.2f", memDelta) %></td>
-                <td><%= String.format("%.3f", indexMap.get(r)) %></td>
+                <td><%= String.format("%.1f", r.getTime()) %></td>
+                <td><%= String.format("%.2f", r.getMemoryDelta()) %></td>
+                <td><%= String.format("%.3f", r.getIndex()) %></td>
             </tr>
             <% } %>
         </table>
@@ -89,11 +82,11 @@
                 <th>Time (sec)</th>
                 <th>Efficiency Index</th>
             </tr>
-            <% for (MetricRecord r : rollbacks) { %>
+            <% for (IndexedMetric r : rollbacks) { %>
             <tr>
                 <td><%= r.getToolName() %></td>
-                <td><%= r.getRollbackTime() > 0 ? String.format("%.1f", r.getRollbackTime()) : "<span class='na'>N/A</span>" %></td>
-                <td><%= String.format("%.3f", indexMap.get(r)) %></td>
+                <td><%= r.getTime() > 0 ? String.format("%.1f", r.getTime()) : "<span class='na'>N/A</span>" %></td>
+                <td><%= String.format("%.3f", r.getIndex()) %></td>
             </tr>
             <% } %>
         </table>
@@ -1,5 +1,5 @@
 <%-- webapp/views/postJob.jsp --%>
-<%@ page contentType="text/html;charset=UTF-8" %>
+<%@ page contentType="text/html;charset=UTF-8" session="false" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <html>
 <head>
@@ -7,7 +7,7 @@
     <link rel="stylesheet" href="${pageContext.request.contextPath}/css/styles.css">
 </head>
 <body>
-    <c:if test="${empty sessionScope.user || sessionScope.user.role ne 'EMPLOYER'}">
+    <c:if test="${empty requestScope.user || requestScope.user.role ne 'EMPLOYER'}">
         <c:redirect url="login.jsp"/>
     </c:if>
     
@@ -19,5 +19,12 @@
         <input type="number" name="salary" step="0.01" placeholder="Salary" required>
         <button type="submit">Post Job</button>
     </form>
+
+    <h2>Bulk Import Jobs</h2>
+    <p>Upload a CSV (header: title,description,location,salary) or a JSON array of job objects.</p>
+    <form action="importJobs" method="post" enctype="multipart/form-data">
+        <input type="file" name="file" accept=".csv,.json,.ndjson" required>
+        <button type="submit">Import Jobs</button>
+    </form>
 </body>
 </html>
\ No newline at end of file
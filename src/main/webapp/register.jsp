@@ -1,5 +1,5 @@
 <%-- webapp/views/register.jsp --%>
-<%@ page contentType="text/html;charset=UTF-8" %>
+<%@ page contentType="text/html;charset=UTF-8" session="false" %>
 <html>
 <head>
     <title>Register</title>
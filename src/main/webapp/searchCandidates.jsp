@@ -0,0 +1,62 @@
+<%@ page contentType="text/html;charset=UTF-8" session="false" %>
+<%@ page import="java.util.List, java.util.ArrayList" %>
+<%@ page import="model.Application" %>
+<!DOCTYPE html>
+<html>
+<head>
+    <title>Search Candidates</title>
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/css/styles.css">
+</head>
+<body>
+    <%
+        Object candidatesObj = request.getAttribute("candidates");
+        List<Application> candidates = new ArrayList<>();
+        if (candidatesObj instanceof List<?>) {
+            for (Object item : (List<?>) candidatesObj) {
+                if (item instanceof Application) {
+                    candidates.add((Application) item);
+                }
+            }
+        }
+        String searchQuery = (String) request.getAttribute("searchQuery");
+        String searchValue = searchQuery == null ? "" : searchQuery.replace("&", "&amp;")
+                .replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+    %>
+
+    <h2>Search Candidates</h2>
+    <form action="<%= request.getContextPath() %>/searchCandidates" method="get">
+        <input type="text" name="q" value="<%= searchValue %>" placeholder="Skills or keywords, e.g. kubernetes">
+        <button type="submit">Search</button>
+    </form>
+    <p>Searches the resumes of applicants to your jobs. New resumes become searchable shortly after they are submitted.</p>
+
+    <% if (!searchValue.isEmpty()) { %>
+    <table border="1">
+        <tr>
+            <th>Job Title</th>
+            <th>Applicant Name</th>
+            <th>Application Date</th>
+            <th>Resume</th>
+        </tr>
+        <% for (Application app : candidates) { %>
+        <tr>
+            <td><%= app.getJobTitle() %></td>
+            <td><%= app.getApplicantName() %></td>
+            <td><%= app.getApplicationDate() != null ? app.getApplicationDate() : "" %></td>
+            <td>
+                <a href="downloadResume?path=<%= java.net.URLEncoder.encode(app.getResumePath(), "UTF-8") %>">Download</a>
+            </td>
+        </tr>
+        <% } %>
+        <% if (candidates.isEmpty()) { %>
+        <tr><td colspan="4">No matching resumes</td></tr>
+        <% } %>
+    </table>
+    <% } %>
+
+    <div class="navigation">
+        <a href="<%= request.getContextPath() %>/employerDashboard">Back to Dashboard</a> |
+        <a href="<%= request.getContextPath() %>/logout">Logout</a>
+    </div>
+</body>
+</html>
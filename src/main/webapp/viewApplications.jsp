@@ -1,7 +1,9 @@
-<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ page contentType="text/html;charset=UTF-8" language="java" session="false" %>
 <%@ page import="java.util.List, java.util.ArrayList" %>
 <%@ page import="model.Application" %>
-<%@ page import="model.User" %>
+<%@ page import="model.Page" %>
+<%@ page import="model.PageRequest" %>
+<%@ page import="model.SessionUser" %>
 <!DOCTYPE html>
 <html>
 <head>
@@ -12,12 +14,12 @@
 <body>
     <% 
         // Check if a user is logged in; if not, redirect to the login page.
-        Object userObj = session.getAttribute("user");
+        Object userObj = request.getAttribute("user");
         if (userObj == null) {
             response.sendRedirect(request.getContextPath() + "/login.jsp");
             return;
         }
-        User user = (User) userObj;
+        SessionUser user = (SessionUser) userObj;
         
         // Retrieve the applications attribute safely.
         Object appsObj = request.getAttribute("applications");
@@ -42,6 +44,20 @@
         <div class="alert"><%= message %></div>
     <% } %>
     
+    <%
+        PageRequest pageRequest = (PageRequest) request.getAttribute("pageRequest");
+        Page<?> appPage = (Page<?>) request.getAttribute("resultPage");
+        String listUrl = request.getContextPath() + "/viewApplications?";
+        if (pageRequest != null) {
+    %>
+        <div class="sort-links">
+            Sort by:
+            <a href="<%= listUrl %>sort=date&dir=desc">Newest</a> |
+            <a href="<%= listUrl %>sort=salary&dir=desc">Salary</a> |
+            <a href="<%= listUrl %>sort=title&dir=asc">Job Title</a>
+        </div>
+    <% } %>
+
     <table border="1">
         <thead>
             <tr>
@@ -85,6 +101,16 @@
             <% } %>
         </tbody>
     </table>
+    <% if (pageRequest != null && appPage != null) { %>
+        <div class="pagination">
+            <% if (!pageRequest.isFirstPage()) { %>
+                <a href="<%= listUrl %><%= pageRequest.sortQuery() %>">First Page</a>
+            <% } %>
+            <% if (appPage.hasNext()) { %>
+                <a href="<%= listUrl %><%= pageRequest.nextPageQuery(appPage) %>">Next Page</a>
+            <% } %>
+        </div>
+    <% } %>
     <br>
     <a href="<%= request.getContextPath() %>/viewJobs">Back to Jobs</a>
 </body>
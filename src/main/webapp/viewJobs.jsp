@@ -1,7 +1,9 @@
-<%@ page contentType="text/html;charset=UTF-8" language="java" %>
+<%@ page contentType="text/html;charset=UTF-8" language="java" session="false" %>
 <%@ page import="java.util.List, java.util.ArrayList" %>
 <%@ page import="model.Job" %>
-<%@ page import="model.User" %>
+<%@ page import="model.Page" %>
+<%@ page import="model.PageRequest" %>
+<%@ page import="model.SessionUser" %>
 <!DOCTYPE html>
 <html>
 <head>
@@ -13,12 +15,12 @@
     <div class="container">
         <%-- Authentication Check: If user is not logged in, redirect to login page --%>
         <%
-            Object userObj = session.getAttribute("user");
+            Object userObj = request.getAttribute("user");
             if (userObj == null) {
                 response.sendRedirect(request.getContextPath() + "/login.jsp");
                 return;
             }
-            User user = (User) userObj;
+            SessionUser user = (SessionUser) userObj;
         %>
 
         <%-- Safely retrieve job listings from request attribute --%>
@@ -59,6 +61,30 @@
             }
         %>
 
+        <%-- Sorting (server-side, whitelisted keys) --%>
+        <%
+            PageRequest pageRequest = (PageRequest) request.getAttribute("pageRequest");
+            Page<?> jobPage = (Page<?>) request.getAttribute("resultPage");
+            String listUrl = request.getContextPath() + "/viewJobs?"
+                    + ("myJobs".equals(request.getParameter("action")) ? "action=myJobs&" : "");
+            String searchQuery = (String) request.getAttribute("searchQuery");
+            String searchValue = searchQuery == null ? "" : searchQuery.replace("&", "&amp;")
+                    .replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+        %>
+        <form action="<%= request.getContextPath() %>/searchJobs" method="get" class="search-form">
+            <input type="text" name="q" value="<%= searchValue %>" placeholder="Search title, description or location">
+            <button type="submit" class="btn">Search</button>
+            <% if (searchQuery != null) { %>
+                <a href="<%= request.getContextPath() %>/viewJobs">Clear</a>
+            <% } %>
+        </form>
+        <div class="sort-links">
+            Sort by:
+            <a href="<%= listUrl %>sort=date&dir=desc">Newest</a> |
+            <a href="<%= listUrl %>sort=salary&dir=desc">Salary</a> |
+            <a href="<%= listUrl %>sort=title&dir=asc">Title</a>
+        </div>
+
         <%-- Jobs Table --%>
         <table>
             <thead>
@@ -85,7 +111,7 @@
                         %>
                             <form action="<%= request.getContextPath() %>/applyJob" method="post" enctype="multipart/form-data" class="apply-form">
                                 <input type="hidden" name="jobId" value="<%= job.getJobId() %>">
-                                <input type="file" name="resume" accept=".pdf,.doc,.docx" required onchange="validateResume(this)">
+                                <input type="file" name="resume" accept=".pdf,.doc,.docx,.txt" required onchange="validateResume(this)">
                                 <button type="submit" class="apply-btn">Apply Now</button>
                             </form>
                         <%
@@ -111,6 +137,18 @@
             </tbody>
         </table>
 
+        <%-- Keyset pagination: "next" carries the last row's sort value and id --%>
+        <% if (pageRequest != null && jobPage != null) { %>
+        <div class="pagination">
+            <% if (!pageRequest.isFirstPage()) { %>
+                <a href="<%= listUrl %><%= pageRequest.sortQuery() %>" class="btn">First Page</a>
+            <% } %>
+            <% if (jobPage.hasNext()) { %>
+                <a href="<%= listUrl %><%= pageRequest.nextPageQuery(jobPage) %>" class="btn">Next Page</a>
+            <% } %>
+        </div>
+        <% } %>
+
         <%-- Navigation Links --%>
         <div class="navigation">
             <%
@@ -127,10 +165,10 @@
 
     <script>
         function validateResume(input) {
-            const allowedExtensions = ['pdf', 'doc', 'docx'];
+            const allowedExtensions = ['pdf', 'doc', 'docx', 'txt'];
             const fileName = input.value.split('.').pop().toLowerCase();
             if (!allowedExtensions.includes(fileName)) {
-                alert('Only PDF, DOC, and DOCX files are allowed!');
+                alert('Only PDF, DOC, DOCX and TXT files are allowed!');
                 input.value = '';
             }
         }